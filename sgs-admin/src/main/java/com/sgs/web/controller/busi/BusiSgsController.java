@@ -1,17 +1,34 @@
 package com.sgs.web.controller.busi;
 
+import com.sgs.busi.cache.SgsParseCache;
+import com.sgs.busi.cache.SgsVerdictCache;
+import com.sgs.busi.domain.BusiSgsJob;
+import com.sgs.busi.domain.BusiSgsResult;
 import com.sgs.busi.model.SgsFileInfo;
-import com.sgs.busi.utils.SgsFileParserUtils;
+import com.sgs.busi.model.SgsUploadResult;
+import com.sgs.busi.service.ISgsBatchService;
+import com.sgs.busi.service.ISgsResultService;
+import com.sgs.busi.service.ISgsUploadService;
 import com.sgs.common.annotation.Anonymous;
 import com.sgs.common.core.domain.R;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * @Author: tengYong
@@ -23,10 +40,91 @@ import java.io.IOException;
 @RequestMapping("/busi/sgs")
 public class BusiSgsController {
 
+    @Autowired
+    private ISgsBatchService sgsBatchService;
+
+    @Autowired
+    private ISgsUploadService sgsUploadService;
+
+    @Autowired
+    private ISgsResultService sgsResultService;
+
+    @Autowired
+    private SgsParseCache sgsParseCache;
+
+    @Autowired
+    private SgsVerdictCache sgsVerdictCache;
+
     @Anonymous
     @Operation(summary = "读取文档内容")
     @PostMapping("/read-document")
     public R<SgsFileInfo> readDocument(@RequestParam String filePath) throws IOException {
-        return R.ok(SgsFileParserUtils.parseSgsFile(filePath));
+        return R.ok(sgsParseCache.parse(filePath));
+    }
+
+    @Anonymous
+    @Operation(summary = "上传并读取文档内容")
+    @PostMapping("/read-upload")
+    public R<SgsUploadResult> readUpload(MultipartFile file, @RequestParam(defaultValue = "false") boolean persist) throws IOException {
+        return R.ok(sgsUploadService.parseUpload(file, persist));
+    }
+
+    /**
+     * 请求体为ZIP原始字节（不走multipart，大小由 busi.zip.maxSize 等配置限制），响应为NDJSON，每解析完一个文件输出一行
+     */
+    @PreAuthorize("@ss.hasPermi('busi:sgs:upload')")
+    @Operation(summary = "批量读取ZIP中的文档内容")
+    @PostMapping(value = "/read-zip", consumes = { "application/zip", "application/octet-stream" })
+    public void readZip(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("utf-8");
+        sgsUploadService.parseZip(request.getInputStream(), response.getOutputStream());
+    }
+
+    @PreAuthorize("@ss.hasPermi('busi:sgs:check')")
+    @Operation(summary = "提交批量审核")
+    @PostMapping("/batch")
+    public R<String> submitBatch(@RequestBody List<String> filePaths) {
+        return R.ok(sgsBatchService.submitBatch(filePaths));
+    }
+
+    @PreAuthorize("@ss.hasPermi('busi:sgs:query')")
+    @Operation(summary = "查询批次审核状态")
+    @GetMapping("/batch/{batchId}")
+    public R<List<BusiSgsJob>> batchStatus(@PathVariable String batchId) {
+        return R.ok(sgsBatchService.selectJobListByBatchId(batchId));
+    }
+
+    @PreAuthorize("@ss.hasPermi('busi:sgs:query')")
+    @Operation(summary = "查询单个审核任务")
+    @GetMapping("/batch/job/{jobId}")
+    public R<BusiSgsJob> jobStatus(@PathVariable Long jobId) {
+        return R.ok(sgsBatchService.selectJobById(jobId));
+    }
+
+    /**
+     * 游标分页：首页不传lastId，下一页传本页最后一条的resultId
+     */
+    @PreAuthorize("@ss.hasPermi('busi:sgs:list')")
+    @Operation(summary = "查询审核结果列表")
+    @GetMapping("/result/list")
+    public R<List<BusiSgsResult>> resultList(BusiSgsResult query, @RequestParam(required = false) Long lastId,
+            @RequestParam(defaultValue = "20") int pageSize) {
+        return R.ok(sgsResultService.selectResultList(query, lastId, pageSize));
+    }
+
+    @PreAuthorize("@ss.hasPermi('busi:sgs:query')")
+    @Operation(summary = "查询审核结果")
+    @GetMapping("/result/{resultId}")
+    public R<BusiSgsResult> result(@PathVariable Long resultId) {
+        return R.ok(sgsResultService.selectResultById(resultId));
+    }
+
+    @PreAuthorize("@ss.hasPermi('busi:sgs:edit')")
+    @Operation(summary = "清空审核结论缓存")
+    @DeleteMapping("/verdict-cache")
+    public R<Void> clearVerdictCache() {
+        sgsVerdictCache.clear();
+        return R.ok();
     }
 }
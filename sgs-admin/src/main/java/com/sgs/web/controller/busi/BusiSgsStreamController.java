@@ -0,0 +1,68 @@
+package com.sgs.web.controller.busi;
+
+import com.sgs.busi.service.ISgsStreamService;
+import io.reactivex.disposables.Disposable;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * SGS报告流式审核
+ * <p>
+ * 返回 text/event-stream，大模型每输出一个片段即推送给浏览器。请求线程在返回 {@link SseEmitter} 后立即释放，
+ * 解析与大模型调用均在 IO 线程上完成。
+ */
+@Tag(name = "SGS管理")
+@RestController
+@RequestMapping("/busi/sgs")
+public class BusiSgsStreamController {
+
+    private static final Logger log = LoggerFactory.getLogger(BusiSgsStreamController.class);
+
+    /** 单次流式审核最长时间（毫秒），深度推理模型可能持续数分钟 */
+    private static final long STREAM_TIMEOUT = 5 * 60 * 1000L;
+
+    @Autowired
+    private ISgsStreamService sgsStreamService;
+
+    @PreAuthorize("@ss.hasPermi('busi:sgs:check')")
+    @Operation(summary = "流式审核文档")
+    @GetMapping(value = "/check-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter checkStream(@RequestParam String filePath) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT);
+        Disposable disposable = sgsStreamService.streamCheck(filePath).subscribe(
+                token -> emitter.send(SseEmitter.event().name(token.getType()).data(token.getText())),
+                e -> {
+                    log.warn("流式审核失败：{}", e.getMessage());
+                    send(emitter, "error", e.getMessage());
+                    emitter.complete();
+                },
+                () -> {
+                    send(emitter, "done", "");
+                    emitter.complete();
+                });
+        emitter.onTimeout(disposable::dispose);
+        emitter.onError(e -> disposable.dispose());
+        emitter.onCompletion(disposable::dispose);
+        return emitter;
+    }
+
+    private static void send(SseEmitter emitter, String name, String data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data == null ? "" : data));
+        } catch (IOException | IllegalStateException e) {
+            // 客户端已断开
+        }
+    }
+}
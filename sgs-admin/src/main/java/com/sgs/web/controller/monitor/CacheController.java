@@ -1,5 +1,6 @@
 package com.sgs.web.controller.monitor;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -17,9 +18,13 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import com.alibaba.fastjson2.JSON;
 import com.sgs.common.constant.CacheConstants;
 import com.sgs.common.core.domain.AjaxResult;
+import com.sgs.common.core.redis.RedisCache;
 import com.sgs.common.utils.StringUtils;
+import com.sgs.framework.config.CompactRedisSerializer;
+import com.sgs.framework.web.service.LoginUserCache;
 import com.sgs.system.domain.SysCache;
 
 /**
@@ -34,6 +39,12 @@ public class CacheController
     @Autowired
     private RedisTemplate<String, String> redisTemplate;
 
+    @Autowired
+    private LoginUserCache loginUserCache;
+
+    @Autowired
+    private RedisCache redisCache;
+
     private final static List<SysCache> caches = new ArrayList<SysCache>();
     {
         caches.add(new SysCache(CacheConstants.LOGIN_TOKEN_KEY, "用户信息"));
@@ -89,7 +100,18 @@ public class CacheController
     @GetMapping("/getValue/{cacheName}/{cacheKey}")
     public AjaxResult getCacheValue(@PathVariable String cacheName, @PathVariable String cacheKey)
     {
-        String cacheValue = redisTemplate.opsForValue().get(cacheKey);
+        byte[] rawValue = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands()
+                .get(cacheKey.getBytes(StandardCharsets.UTF_8)));
+        String cacheValue = null;
+        if (CompactRedisSerializer.isCompact(rawValue))
+        {
+            // 二进制序列化的值用配置的序列化方式还原为对象后转为JSON展示
+            cacheValue = JSON.toJSONString(redisCache.redisTemplate.getValueSerializer().deserialize(rawValue));
+        }
+        else if (rawValue != null)
+        {
+            cacheValue = new String(rawValue, StandardCharsets.UTF_8);
+        }
         SysCache sysCache = new SysCache(cacheName, cacheKey, cacheValue);
         return AjaxResult.success(sysCache);
     }
@@ -100,6 +122,10 @@ public class CacheController
     {
         Collection<String> cacheKeys = redisTemplate.keys(cacheName + "*");
         redisTemplate.delete(cacheKeys);
+        if (CacheConstants.LOGIN_TOKEN_KEY.startsWith(cacheName))
+        {
+            loginUserCache.invalidateAll();
+        }
         return AjaxResult.success();
     }
 
@@ -108,6 +134,10 @@ public class CacheController
     public AjaxResult clearCacheKey(@PathVariable String cacheKey)
     {
         redisTemplate.delete(cacheKey);
+        if (cacheKey.startsWith(CacheConstants.LOGIN_TOKEN_KEY))
+        {
+            loginUserCache.invalidate(cacheKey.substring(CacheConstants.LOGIN_TOKEN_KEY.length()));
+        }
         return AjaxResult.success();
     }
 
@@ -117,6 +147,7 @@ public class CacheController
     {
         Collection<String> cacheKeys = redisTemplate.keys("*");
         redisTemplate.delete(cacheKeys);
+        loginUserCache.invalidateAll();
         return AjaxResult.success();
     }
 }
@@ -0,0 +1,29 @@
+package com.sgs.web.controller.monitor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import com.sgs.busi.llm.LlmMetrics;
+import com.sgs.common.core.domain.AjaxResult;
+
+/**
+ * 大模型调用监控
+ * 
+ * @author sgs
+ */
+@RestController
+@RequestMapping("/monitor/llm")
+public class LlmMonitorController
+{
+    @Autowired
+    private LlmMetrics llmMetrics;
+
+    @PreAuthorize("@ss.hasPermi('monitor:llm:list')")
+    @GetMapping()
+    public AjaxResult getInfo()
+    {
+        return AjaxResult.success(llmMetrics.snapshot());
+    }
+}
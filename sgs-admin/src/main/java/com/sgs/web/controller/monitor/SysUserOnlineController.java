@@ -1,9 +1,5 @@
 package com.sgs.web.controller.monitor;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,15 +7,18 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import com.github.pagehelper.Page;
 import com.sgs.common.annotation.Log;
-import com.sgs.common.constant.CacheConstants;
 import com.sgs.common.core.controller.BaseController;
 import com.sgs.common.core.domain.AjaxResult;
 import com.sgs.common.core.domain.model.LoginUser;
+import com.sgs.common.core.page.PageDomain;
 import com.sgs.common.core.page.TableDataInfo;
-import com.sgs.common.core.redis.RedisCache;
+import com.sgs.common.core.page.TableSupport;
 import com.sgs.common.enums.BusinessType;
 import com.sgs.common.utils.StringUtils;
+import com.sgs.framework.web.service.TokenService;
+import com.sgs.framework.web.service.TokenSessionIndex;
 import com.sgs.system.domain.SysUserOnline;
 import com.sgs.system.service.ISysUserOnlineService;
 
@@ -36,36 +35,27 @@ public class SysUserOnlineController extends BaseController
     private ISysUserOnlineService userOnlineService;
 
     @Autowired
-    private RedisCache redisCache;
+    private TokenSessionIndex tokenSessionIndex;
+
+    @Autowired
+    private TokenService tokenService;
 
     @PreAuthorize("@ss.hasPermi('monitor:online:list')")
     @GetMapping("/list")
     public TableDataInfo list(String ipaddr, String userName)
     {
-        Collection<String> keys = redisCache.keys(CacheConstants.LOGIN_TOKEN_KEY + "*");
-        List<SysUserOnline> userOnlineList = new ArrayList<SysUserOnline>();
-        for (String key : keys)
+        PageDomain pageDomain = TableSupport.buildPageRequest();
+        Page<LoginUser> sessions = tokenSessionIndex.list(ipaddr, userName, pageDomain.getPageNum(), pageDomain.getPageSize());
+        Page<SysUserOnline> userOnlineList = new Page<SysUserOnline>(sessions.getPageNum(), sessions.getPageSize());
+        userOnlineList.setTotal(sessions.getTotal());
+        for (LoginUser user : sessions)
         {
-            LoginUser user = redisCache.getCacheObject(key);
-            if (StringUtils.isNotEmpty(ipaddr) && StringUtils.isNotEmpty(userName))
-            {
-                userOnlineList.add(userOnlineService.selectOnlineByInfo(ipaddr, userName, user));
-            }
-            else if (StringUtils.isNotEmpty(ipaddr))
-            {
-                userOnlineList.add(userOnlineService.selectOnlineByIpaddr(ipaddr, user));
-            }
-            else if (StringUtils.isNotEmpty(userName) && StringUtils.isNotNull(user.getUser()))
-            {
-                userOnlineList.add(userOnlineService.selectOnlineByUserName(userName, user));
-            }
-            else
+            SysUserOnline userOnline = userOnlineService.loginUserToUserOnline(user);
+            if (StringUtils.isNotNull(userOnline))
             {
-                userOnlineList.add(userOnlineService.loginUserToUserOnline(user));
+                userOnlineList.add(userOnline);
             }
         }
-        Collections.reverse(userOnlineList);
-        userOnlineList.removeAll(Collections.singleton(null));
         return getDataTable(userOnlineList);
     }
 
@@ -77,7 +67,7 @@ public class SysUserOnlineController extends BaseController
     @DeleteMapping("/{tokenId}")
     public AjaxResult forceLogout(@PathVariable String tokenId)
     {
-        redisCache.deleteObject(CacheConstants.LOGIN_TOKEN_KEY + tokenId);
+        tokenService.delLoginUser(tokenId);
         return success();
     }
 }
@@ -0,0 +1,174 @@
+package com.sgs.busi.cache;
+
+import com.sgs.busi.constant.BusiConstants;
+import com.sgs.busi.llm.LlmMetrics;
+import com.sgs.busi.model.SgsFileInfo;
+import com.sgs.busi.model.SgsParseOptions;
+import com.sgs.busi.utils.SgsFileParserUtils;
+import com.sgs.common.core.redis.RedisCache;
+import com.sgs.common.utils.bean.BeanUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FilenameUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 报告解析结果缓存
+ * <p>
+ * 以解析器版本、文件内容的 SHA-256 与解析选项为键：一级为进程内 LRU，二级为可选的 Redis。相同内容的报告重复上传时只需一次哈希计算，
+ * 无需再次加载 POI / PDFBox 文档；解析逻辑变化时递增 {@link SgsFileParserUtils#PARSER_VERSION}，旧版本写入Redis的结果不再命中。
+ */
+@Slf4j
+@Component
+public class SgsParseCache {
+
+    /** 指标中的缓存名称 */
+    private static final String CACHE_NAME = "parse";
+
+    /** 进程内最大缓存条数 */
+    @Value("${busi.parseCache.maxSize:1000}")
+    private int maxSize;
+
+    /** 是否启用Redis二级缓存 */
+    @Value("${busi.parseCache.redisEnabled:false}")
+    private boolean redisEnabled;
+
+    /** Redis缓存有效期（小时） */
+    @Value("${busi.parseCache.redisExpireHours:24}")
+    private int redisExpireHours;
+
+    /** PDF逐页提取的最大页数，小于等于0时一次性提取全文；逐页提取时字段取首次出现的值，需显式开启 */
+    @Value("${busi.parser.pdfMaxPages:0}")
+    private int pdfMaxPages;
+
+    /** Word是否使用StAX流式提取 */
+    @Value("${busi.parser.docxStreaming:false}")
+    private boolean docxStreaming;
+
+    @Autowired
+    private RedisCache redisCache;
+
+    @Autowired
+    private LlmMetrics llmMetrics;
+
+    private final Map<String, SgsFileInfo> localCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SgsFileInfo> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    /**
+     * 解析SGS文件，命中缓存时直接返回
+     *
+     * @param filePath 文件完整路径
+     * @return 解析后的SGS文件信息
+     * @throws IOException IO异常
+     */
+    public SgsFileInfo parse(String filePath) throws IOException {
+        File file = new File(filePath);
+        if (!file.exists()) {
+            throw new IOException("文件不存在：" + filePath);
+        }
+        return parse(Files.readAllBytes(file.toPath()), FilenameUtils.getExtension(filePath));
+    }
+
+    /**
+     * 解析内存中的SGS文件内容，命中缓存时直接返回
+     *
+     * @param data      文件内容
+     * @param extension 文件扩展名
+     * @return 解析后的SGS文件信息
+     * @throws IOException IO异常
+     */
+    public SgsFileInfo parse(byte[] data, String extension) throws IOException {
+        // 解析器版本与解析选项不同结果可能不同，一并计入缓存键
+        SgsParseOptions options = new SgsParseOptions(pdfMaxPages, docxStreaming);
+        String fileHash = sha256(data);
+        String hash = "v" + SgsFileParserUtils.PARSER_VERSION + ":" + fileHash + ":" + options.cacheKey();
+        SgsFileInfo cached = get(hash);
+        llmMetrics.recordCache(CACHE_NAME, cached != null);
+        if (cached != null) {
+            return copy(cached, fileHash);
+        }
+        SgsFileInfo sgsFileInfo = SgsFileParserUtils.parseSgsFile(data, extension, options);
+        put(hash, sgsFileInfo);
+        return copy(sgsFileInfo, fileHash);
+    }
+
+    /**
+     * 清空进程内缓存
+     */
+    public synchronized void clear() {
+        localCache.clear();
+    }
+
+    private SgsFileInfo get(String hash) {
+        synchronized (this) {
+            SgsFileInfo sgsFileInfo = localCache.get(hash);
+            if (sgsFileInfo != null) {
+                return sgsFileInfo;
+            }
+        }
+        if (!redisEnabled) {
+            return null;
+        }
+        try {
+            SgsFileInfo sgsFileInfo = redisCache.getCacheObject(BusiConstants.SGS_PARSE_KEY + hash);
+            if (sgsFileInfo != null) {
+                synchronized (this) {
+                    localCache.put(hash, sgsFileInfo);
+                }
+            }
+            return sgsFileInfo;
+        } catch (Exception e) {
+            log.warn("读取报告解析缓存异常：{}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void put(String hash, SgsFileInfo sgsFileInfo) {
+        synchronized (this) {
+            localCache.put(hash, sgsFileInfo);
+        }
+        if (redisEnabled) {
+            try {
+                redisCache.setCacheObject(BusiConstants.SGS_PARSE_KEY + hash, sgsFileInfo, redisExpireHours, TimeUnit.HOURS);
+            } catch (Exception e) {
+                log.warn("写入报告解析缓存异常：{}", e.getMessage());
+            }
+        }
+    }
+
+    private static SgsFileInfo copy(SgsFileInfo source, String fileHash) {
+        SgsFileInfo target = new SgsFileInfo();
+        BeanUtils.copyProperties(source, target);
+        target.setFileHash(fileHash);
+        return target;
+    }
+
+    /**
+     * 计算文件内容的 SHA-256
+     *
+     * @param data 文件内容
+     * @return 十六进制摘要
+     */
+    public static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
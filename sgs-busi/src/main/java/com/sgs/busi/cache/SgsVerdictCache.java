@@ -0,0 +1,240 @@
+package com.sgs.busi.cache;
+
+import com.sgs.busi.constant.BusiConstants;
+import com.sgs.busi.llm.LlmMetrics;
+import com.sgs.common.core.redis.RedisCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 大模型审核结论缓存
+ * <p>
+ * 以（模型、系统提示词版本、归一化后的用户内容）的摘要为键。系统提示词版本取规则文本的摘要，规则文本变化后旧结论自然失效；
+ * 调整规则配置等场景也可调用 {@link #clear()} 主动清空。
+ * <p>
+ * 调用方先以 {@link #getIfPresent} 查询，未命中时通过 {@link #loadOnce} 调用大模型：相同键的并发请求只调用一次，其余请求等待并共享该结果。
+ */
+@Slf4j
+@Component
+public class SgsVerdictCache {
+
+    /** 指标中的缓存名称 */
+    private static final String CACHE_NAME = "verdict";
+
+    /** 清空Redis缓存时每批扫描与删除的键数 */
+    private static final int SCAN_BATCH = 1000;
+
+    /** 进程内最大缓存条数 */
+    @Value("${busi.verdictCache.maxSize:5000}")
+    private int maxSize;
+
+    /** 缓存有效期（分钟） */
+    @Value("${busi.verdictCache.expireMinutes:1440}")
+    private int expireMinutes;
+
+    /** 是否启用Redis二级缓存 */
+    @Value("${busi.verdictCache.redisEnabled:false}")
+    private boolean redisEnabled;
+
+    @Autowired
+    private RedisCache redisCache;
+
+    @Autowired
+    private LlmMetrics llmMetrics;
+
+    private final Map<String, Entry> localCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    /** 正在调用大模型的缓存键 */
+    private final Map<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * 合并相同键的并发调用：同一时刻只执行一次loader，其余调用等待并返回同一结果（或同一异常）。
+     * 不读写缓存，由loader自行写入，便于调用方按实际作答的模型缓存
+     *
+     * @param model         模型名称
+     * @param systemContent 系统提示词（规则文本）
+     * @param userContent   用户内容
+     * @param loader        实际调用大模型的逻辑
+     * @return loader的结果
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T loadOnce(String model, String systemContent, String userContent, Callable<T> loader) throws Exception {
+        String key = key(model, systemContent, userContent);
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> running = loading.putIfAbsent(key, future);
+        if (running != null) {
+            try {
+                return (T) running.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw (Exception) e.getCause();
+            }
+        }
+        try {
+            T value = loader.call();
+            future.complete(value);
+            return value;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    /**
+     * 获取已缓存的审核结论
+     *
+     * @param model         模型名称
+     * @param systemContent 系统提示词（规则文本）
+     * @param userContent   用户内容
+     * @return 审核结论，未命中返回null
+     */
+    public String getIfPresent(String model, String systemContent, String userContent) {
+        String verdict = get(key(model, systemContent, userContent));
+        llmMetrics.recordCache(CACHE_NAME, verdict != null);
+        return verdict;
+    }
+
+    /**
+     * 缓存审核结论
+     *
+     * @param model         模型名称
+     * @param systemContent 系统提示词（规则文本）
+     * @param userContent   用户内容
+     * @param verdict       审核结论
+     */
+    public void put(String model, String systemContent, String userContent, String verdict) {
+        put(key(model, systemContent, userContent), verdict);
+    }
+
+    /**
+     * 清空全部审核结论，Redis中的键以SCAN分批查找删除，不阻塞Redis
+     */
+    @SuppressWarnings("unchecked")
+    public void clear() {
+        synchronized (this) {
+            localCache.clear();
+        }
+        if (redisEnabled) {
+            ScanOptions options = ScanOptions.scanOptions().match(BusiConstants.SGS_VERDICT_KEY + "*").count(SCAN_BATCH).build();
+            List<Object> keys = new ArrayList<>();
+            try (Cursor<Object> cursor = redisCache.redisTemplate.scan(options)) {
+                while (cursor.hasNext()) {
+                    keys.add(cursor.next());
+                    if (keys.size() >= SCAN_BATCH) {
+                        redisCache.deleteObject(keys);
+                        keys.clear();
+                    }
+                }
+            }
+            if (!keys.isEmpty()) {
+                redisCache.deleteObject(keys);
+            }
+        }
+    }
+
+    private String get(String key) {
+        synchronized (this) {
+            Entry entry = localCache.get(key);
+            if (entry != null) {
+                if (entry.expireAt > System.currentTimeMillis()) {
+                    return entry.verdict;
+                }
+                localCache.remove(key);
+            }
+        }
+        if (!redisEnabled) {
+            return null;
+        }
+        try {
+            String verdict = redisCache.getCacheObject(BusiConstants.SGS_VERDICT_KEY + key);
+            if (verdict != null) {
+                long ttl = redisCache.getExpire(BusiConstants.SGS_VERDICT_KEY + key);
+                synchronized (this) {
+                    localCache.put(key, new Entry(verdict, System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(Math.max(ttl, 0))));
+                }
+            }
+            return verdict;
+        } catch (Exception e) {
+            log.warn("读取审核结论缓存异常：{}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void put(String key, String verdict) {
+        synchronized (this) {
+            localCache.put(key, new Entry(verdict, System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(expireMinutes)));
+        }
+        if (redisEnabled) {
+            try {
+                redisCache.setCacheObject(BusiConstants.SGS_VERDICT_KEY + key, verdict, expireMinutes, TimeUnit.MINUTES);
+            } catch (Exception e) {
+                log.warn("写入审核结论缓存异常：{}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 计算缓存键：模型:提示词版本:内容摘要
+     */
+    public static String key(String model, String systemContent, String userContent) {
+        return model + ":" + promptVersion(systemContent) + ":"
+                + SgsParseCache.sha256(normalize(userContent).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 系统提示词版本，取规则文本摘要的前12位
+     */
+    public static String promptVersion(String systemContent) {
+        return SgsParseCache.sha256(systemContent.getBytes(StandardCharsets.UTF_8)).substring(0, 12);
+    }
+
+    /**
+     * 归一化用户内容：统一全角空格与冒号，去掉行首尾空白并合并连续空白
+     */
+    static String normalize(String userContent) {
+        StringBuilder sb = new StringBuilder(userContent.length());
+        for (String line : userContent.replace('　', ' ').replace(':', '：').split("\n")) {
+            String trimmed = line.trim().replaceAll("\\s+", " ");
+            if (!trimmed.isEmpty()) {
+                sb.append(trimmed).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static class Entry {
+
+        private final String verdict;
+
+        private final long expireAt;
+
+        private Entry(String verdict, long expireAt) {
+            this.verdict = verdict;
+            this.expireAt = expireAt;
+        }
+    }
+}
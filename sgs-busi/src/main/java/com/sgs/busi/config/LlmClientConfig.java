@@ -0,0 +1,182 @@
+package com.sgs.busi.config;
+
+import com.alibaba.dashscope.aigc.generation.Generation;
+import com.alibaba.dashscope.protocol.ConnectionConfigurations;
+import com.alibaba.dashscope.protocol.Protocol;
+import com.alibaba.dashscope.utils.Constants;
+import com.sgs.busi.llm.DashscopeClient;
+import com.sgs.busi.llm.DashscopeProvider;
+import com.sgs.busi.llm.LlmMetrics;
+import com.sgs.busi.llm.LlmProvider;
+import com.sgs.busi.llm.LlmRateLimiter;
+import com.sgs.busi.llm.VolcengineClient;
+import com.sgs.busi.llm.VolcengineProvider;
+import com.sgs.busi.utils.DashscopeUtils;
+import com.sgs.busi.utils.VolcengineUtils;
+import com.sgs.common.utils.StringUtils;
+import com.volcengine.ark.runtime.service.ArkService;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 大模型客户端配置
+ * <p>
+ * 百炼与火山引擎各自只创建一个客户端，连接池、长连接保活时间与最大并发数统一配置，避免每次调用重新握手和创建线程池。
+ */
+@Configuration
+public class LlmClientConfig {
+
+    /** 连接池最大空闲连接数 */
+    @Value("${busi.llm.maxIdleConnections:32}")
+    private int maxIdleConnections;
+
+    /** 空闲连接保活时间（秒） */
+    @Value("${busi.llm.keepAliveSeconds:300}")
+    private int keepAliveSeconds;
+
+    /** 单个服务商最大并发调用数 */
+    @Value("${busi.llm.maxConcurrency:16}")
+    private int maxConcurrency;
+
+    /** 连接超时时间（秒） */
+    @Value("${busi.llm.connectTimeoutSeconds:20}")
+    private int connectTimeoutSeconds;
+
+    /** 读取超时时间（秒） */
+    @Value("${busi.llm.readTimeoutSeconds:120}")
+    private int readTimeoutSeconds;
+
+    /** 失败重试次数 */
+    @Value("${busi.llm.retryTimes:2}")
+    private int retryTimes;
+
+    /** 百炼每秒请求数上限 */
+    @Value("${busi.llm.dashscopeRps:20}")
+    private double dashscopeRps;
+
+    /** 百炼每分钟token数上限 */
+    @Value("${busi.llm.dashscopeTpm:1000000}")
+    private long dashscopeTpm;
+
+    /** 火山引擎每秒请求数上限 */
+    @Value("${busi.llm.volcengineRps:20}")
+    private double volcengineRps;
+
+    /** 火山引擎每分钟token数上限 */
+    @Value("${busi.llm.volcengineTpm:1000000}")
+    private long volcengineTpm;
+
+    /** 百炼接口地址，为空时使用SDK默认地址；离线压测时指向 sgs-loadtest 模块中的模拟服务 */
+    @Value("${busi.llm.dashscopeBaseUrl:}")
+    private String dashscopeBaseUrl;
+
+    /** 百炼API Key，为空时读取环境变量 */
+    @Value("${busi.llm.dashscopeApiKey:}")
+    private String dashscopeApiKey;
+
+    /** 火山引擎接口地址，为空时使用SDK默认地址 */
+    @Value("${busi.llm.volcengineBaseUrl:}")
+    private String volcengineBaseUrl;
+
+    /** 火山引擎API Key，为空时读取环境变量 */
+    @Value("${busi.llm.volcengineApiKey:}")
+    private String volcengineApiKey;
+
+    /** 抽样复核线程数 */
+    @Value("${busi.llm.routing.shadowThreads:2}")
+    private int shadowThreads;
+
+    /** 抽样复核队列长度，满时丢弃 */
+    @Value("${busi.llm.routing.shadowQueueCapacity:16}")
+    private int shadowQueueCapacity;
+
+    @Bean
+    public DashscopeClient dashscopeClient(LlmMetrics llmMetrics) {
+        // 百炼SDK的OkHttp客户端为全局单例，需在第一次调用前设置连接参数
+        Constants.connectionConfigurations = ConnectionConfigurations.builder()
+                .connectTimeout(Duration.ofSeconds(connectTimeoutSeconds))
+                .readTimeout(Duration.ofSeconds(readTimeoutSeconds))
+                .writeTimeout(Duration.ofSeconds(readTimeoutSeconds))
+                .connectionIdleTimeout(Duration.ofSeconds(keepAliveSeconds))
+                .connectionPoolSize(maxIdleConnections)
+                .maximumAsyncRequests(maxConcurrency)
+                .maximumAsyncRequestsPerHost(maxConcurrency)
+                .build();
+        LlmRateLimiter limiter = new LlmRateLimiter(DashscopeProvider.NAME, maxConcurrency, dashscopeRps, dashscopeTpm);
+        llmMetrics.registerLimiter(limiter);
+        Generation generation = StringUtils.isEmpty(dashscopeBaseUrl) ? new Generation()
+                : new Generation(Protocol.HTTP.getValue(), dashscopeBaseUrl);
+        return new DashscopeClient(generation, StringUtils.defaultIfEmpty(dashscopeApiKey, DashscopeUtils.API_KEY), limiter, llmMetrics,
+                retryTimes);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public VolcengineClient volcengineClient(LlmMetrics llmMetrics) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxConcurrency);
+        dispatcher.setMaxRequestsPerHost(maxConcurrency);
+        ArkService.Builder builder = ArkService.builder();
+        if (StringUtils.isNotEmpty(volcengineBaseUrl)) {
+            builder.baseUrl(volcengineBaseUrl);
+        }
+        ArkService arkService = builder
+                .apiKey(StringUtils.defaultIfEmpty(volcengineApiKey, VolcengineUtils.API_KEY))
+                .timeout(Duration.ofSeconds(readTimeoutSeconds))
+                .connectTimeout(Duration.ofSeconds(connectTimeoutSeconds))
+                // SDK会对429立即重试，关闭后由限流器退避，网络异常与5xx由VolcengineClient重试
+                .retryTimes(0)
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveSeconds, TimeUnit.SECONDS))
+                .build();
+        LlmRateLimiter limiter = new LlmRateLimiter(VolcengineProvider.NAME, maxConcurrency, volcengineRps, volcengineTpm);
+        llmMetrics.registerLimiter(limiter);
+        return new VolcengineClient(arkService, limiter, llmMetrics, retryTimes);
+    }
+
+    @Bean
+    public LlmProvider dashscopeProvider(DashscopeClient dashscopeClient) {
+        return new DashscopeProvider(dashscopeClient, DashscopeUtils.MODEL);
+    }
+
+    @Bean
+    public LlmProvider volcengineProvider(VolcengineClient volcengineClient) {
+        return new VolcengineProvider(volcengineClient);
+    }
+
+    /**
+     * 路由与对冲请求的调用线程池，每个服务商最多占用 maxConcurrency 个线程
+     */
+    @Bean(name = "llmCallExecutor")
+    public ThreadPoolTaskExecutor llmCallExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrency * 2);
+        executor.setMaxPoolSize(maxConcurrency * 2);
+        executor.setQueueCapacity(maxConcurrency * 8);
+        executor.setThreadNamePrefix("llm-call-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * 抽样复核线程池，与正式调用隔离；复核只用于统计，池满或关闭时直接丢弃
+     */
+    @Bean(name = "llmShadowExecutor")
+    public ThreadPoolTaskExecutor llmShadowExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(shadowThreads);
+        executor.setMaxPoolSize(shadowThreads);
+        executor.setQueueCapacity(shadowQueueCapacity);
+        executor.setThreadNamePrefix("llm-shadow-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,94 @@
+package com.sgs.busi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * SGS报告审核流水线线程池配置
+ * <p>
+ * 解析、规则、大模型三个阶段各自使用有界线程池。解析阶段为入口，队列满时直接拒绝，任务保持待解析状态由补偿调度重新投递；
+ * 后两个阶段队列满时阻塞上游工作线程，形成逐级背压，避免大模型调用堆积。
+ */
+@Configuration
+public class SgsPipelineConfig {
+
+    /** 解析阶段线程数 */
+    @Value("${busi.pipeline.parseThreads:4}")
+    private int parseThreads;
+
+    /** 规则阶段线程数 */
+    @Value("${busi.pipeline.ruleThreads:2}")
+    private int ruleThreads;
+
+    /** 大模型阶段线程数（即最大并发调用数） */
+    @Value("${busi.pipeline.llmThreads:8}")
+    private int llmThreads;
+
+    /** 每个阶段的队列长度 */
+    @Value("${busi.pipeline.queueCapacity:200}")
+    private int queueCapacity;
+
+    /** ZIP批量解析线程数 */
+    @Value("${busi.zip.threads:4}")
+    private int zipThreads;
+
+    @Bean(name = "sgsParseExecutor")
+    public ThreadPoolTaskExecutor sgsParseExecutor() {
+        return buildExecutor("sgs-parse-", parseThreads, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Bean(name = "sgsRuleExecutor")
+    public ThreadPoolTaskExecutor sgsRuleExecutor() {
+        return buildExecutor("sgs-rule-", ruleThreads, new BlockingPolicy());
+    }
+
+    @Bean(name = "sgsLlmExecutor")
+    public ThreadPoolTaskExecutor sgsLlmExecutor() {
+        return buildExecutor("sgs-llm-", llmThreads, new BlockingPolicy());
+    }
+
+    /**
+     * ZIP批量解析线程池，提交方自行限制在途条目数，队列满时由提交线程执行
+     */
+    @Bean(name = "sgsZipExecutor")
+    public ThreadPoolTaskExecutor sgsZipExecutor() {
+        return buildExecutor("sgs-zip-", zipThreads, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    private ThreadPoolTaskExecutor buildExecutor(String threadNamePrefix, int threads, RejectedExecutionHandler handler) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setRejectedExecutionHandler(handler);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * 队列满时阻塞提交线程，直到下游有空位
+     */
+    private static class BlockingPolicy implements RejectedExecutionHandler {
+
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("线程池已关闭");
+            }
+            try {
+                executor.getQueue().put(r);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException(e);
+            }
+        }
+    }
+}
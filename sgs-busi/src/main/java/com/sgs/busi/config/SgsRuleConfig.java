@@ -0,0 +1,81 @@
+package com.sgs.busi.config;
+
+import com.sgs.busi.model.SgsField;
+import com.sgs.busi.rule.SgsRule;
+import com.sgs.busi.rule.impl.CustomerReferenceRule;
+import com.sgs.busi.rule.impl.ExaggerationRule;
+import com.sgs.busi.rule.impl.PersonalNameRule;
+import com.sgs.busi.rule.impl.RequiredValueRule;
+import com.sgs.busi.rule.impl.SemanticRule;
+import com.sgs.busi.rule.impl.SeriesWordRule;
+import com.sgs.busi.rule.impl.SingleItemRule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 本地校验规则注册，对应 {@link com.sgs.busi.model.SgsFileInfo#SYSTEM_CONTENT} 中可机械判定的部分
+ */
+@Configuration
+public class SgsRuleConfig {
+
+    // 客户名称：留白与个人名义只提示疑点，是否合规及语种、多公司需大模型判断
+    @Bean
+    public SgsRule customerNameRequiredRule() {
+        return new RequiredValueRule(SgsField.CUSTOMER_NAME);
+    }
+
+    @Bean
+    public SgsRule customerNamePersonalRule() {
+        return new PersonalNameRule();
+    }
+
+    // 客户地址：留白只提示疑点，是否合规及语种、一对一关系需大模型判断
+    @Bean
+    public SgsRule customerAddressRequiredRule() {
+        return new RequiredValueRule(SgsField.CUSTOMER_ADDRESS);
+    }
+
+    @Bean
+    public SgsRule customerAddressSemanticRule() {
+        return new SemanticRule(SgsField.CUSTOMER_ADDRESS);
+    }
+
+    // 样品名称：系列字眼、多个品名，夸张表述只提示疑点，颜色与原材料需大模型判断
+    @Bean
+    public SgsRule sampleNameSeriesRule() {
+        return new SeriesWordRule(SgsField.SAMPLE_NAME);
+    }
+
+    @Bean
+    public SgsRule sampleNameSingleItemRule() {
+        return new SingleItemRule(SgsField.SAMPLE_NAME);
+    }
+
+    @Bean
+    public SgsRule sampleNameExaggerationRule() {
+        return new ExaggerationRule();
+    }
+
+    // 型号：系列字眼、多个值，可完全本地判定
+    @Bean
+    public SgsRule modelNumberSeriesRule() {
+        return new SeriesWordRule(SgsField.MODEL_NUMBER);
+    }
+
+    @Bean
+    public SgsRule modelNumberSingleItemRule() {
+        return new SingleItemRule(SgsField.MODEL_NUMBER);
+    }
+
+    // 料号：多个值，可完全本地判定
+    @Bean
+    public SgsRule materialNumberSingleItemRule() {
+        return new SingleItemRule(SgsField.MATERIAL_NUMBER);
+    }
+
+    // 客户参考信息：型号、规格字样，其余需大模型判断
+    @Bean
+    public SgsRule customerReferenceRule() {
+        return new CustomerReferenceRule();
+    }
+}
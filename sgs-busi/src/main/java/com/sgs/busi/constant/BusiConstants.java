@@ -0,0 +1,43 @@
+package com.sgs.busi.constant;
+
+/**
+ * 业务模块常量
+ */
+public class BusiConstants {
+
+    /** 任务状态：待解析 */
+    public static final String JOB_PENDING = "PENDING";
+
+    /** 任务状态：已解析 */
+    public static final String JOB_PARSED = "PARSED";
+
+    /** 任务状态：规则已校验 */
+    public static final String JOB_RULED = "RULED";
+
+    /** 任务状态：已审核 */
+    public static final String JOB_CHECKED = "CHECKED";
+
+    /** 任务状态：失败 */
+    public static final String JOB_FAILED = "FAILED";
+
+    /** 结论来源：本地规则 */
+    public static final String RESULT_SOURCE_RULE = "RULE";
+
+    /** 结论来源：大模型 */
+    public static final String RESULT_SOURCE_LLM = "LLM";
+
+    /** 结论来源：审核结论缓存 */
+    public static final String RESULT_SOURCE_CACHE = "CACHE";
+
+    /** 审核结果每页最大条数 */
+    public static final int RESULT_PAGE_MAX_SIZE = 100;
+
+    /** 报告解析结果 redis key */
+    public static final String SGS_PARSE_KEY = "sgs_parse:";
+
+    /** 大模型审核结论 redis key */
+    public static final String SGS_VERDICT_KEY = "sgs_verdict:";
+
+    /** 失败原因最大长度 */
+    public static final int ERROR_MSG_MAX_LENGTH = 2000;
+}
@@ -0,0 +1,40 @@
+package com.sgs.busi.domain;
+
+import com.sgs.common.core.domain.BaseEntity;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * SGS报告批量审核任务 busi_sgs_job
+ */
+@Getter
+@Setter
+public class BusiSgsJob extends BaseEntity {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 任务ID */
+    private Long jobId;
+
+    /** 批次ID */
+    private String batchId;
+
+    /** 文件路径 */
+    private String filePath;
+
+    /** 任务状态（PENDING待解析 PARSED已解析 RULED已校验 CHECKED已审核 FAILED失败） */
+    private String status;
+
+    /** 解析结果（json） */
+    private String parseResult;
+
+    /** 规则校验结果 */
+    private String ruleResult;
+
+    /** 大模型审核结论 */
+    private String verdict;
+
+    /** 失败原因 */
+    private String errorMsg;
+
+}
@@ -0,0 +1,66 @@
+package com.sgs.busi.domain;
+
+import com.sgs.common.core.domain.BaseEntity;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * SGS报告审核结果 busi_sgs_result
+ */
+@Getter
+@Setter
+public class BusiSgsResult extends BaseEntity {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 结果ID */
+    private Long resultId;
+
+    /** 文件内容SHA-256 */
+    private String fileHash;
+
+    /** 文件路径 */
+    private String filePath;
+
+    /** 客户名称 */
+    private String customerName;
+
+    /** 客户地址 */
+    private String customerAddress;
+
+    /** 样品名称 */
+    private String sampleName;
+
+    /** 型号 */
+    private String modelNumber;
+
+    /** 料号 */
+    private String materialNumber;
+
+    /** 客户参考信息 */
+    private String customerReference;
+
+    /** 样品类型 */
+    private String sampleType;
+
+    /** 结论来源（RULE本地规则 LLM大模型 CACHE缓存） */
+    private String source;
+
+    /** 模型名称 */
+    private String model;
+
+    /** 审核结论 */
+    private String verdict;
+
+    /** 本地规则违规项，每行一条 */
+    private String violations;
+
+    /** 审核耗时（毫秒） */
+    private Long latencyMs;
+
+    /** 输入token数 */
+    private Long inputTokens;
+
+    /** 输出token数 */
+    private Long outputTokens;
+}
@@ -0,0 +1,152 @@
+package com.sgs.busi.llm;
+
+import com.alibaba.dashscope.aigc.generation.Generation;
+import com.alibaba.dashscope.aigc.generation.GenerationParam;
+import com.alibaba.dashscope.aigc.generation.GenerationResult;
+import com.alibaba.dashscope.aigc.generation.GenerationUsage;
+import com.alibaba.dashscope.common.Message;
+import com.alibaba.dashscope.common.Status;
+import com.alibaba.dashscope.exception.ApiException;
+import com.alibaba.dashscope.exception.InputRequiredException;
+import com.alibaba.dashscope.exception.NoApiKeyException;
+
+import java.util.List;
+
+/**
+ * 阿里-百炼共享客户端
+ * <p>
+ * 整个应用复用同一个 {@link Generation}，底层 OkHttp 连接池由 SDK 全局持有；同步调用不受 OkHttp 调度器限制，
+ * 因此并发数、请求速率与token用量由 {@link LlmRateLimiter} 控制。
+ * <p>
+ * SDK不会自动重试：网络异常与服务端5xx错误按配置的次数重试，每次重试重新排队获取额度；被限流的调用不重试，交给限流器降低并发后由调用方处理。
+ */
+public class DashscopeClient {
+
+    private final Generation generation;
+
+    private final String apiKey;
+
+    private final LlmRateLimiter limiter;
+
+    private final LlmMetrics metrics;
+
+    /** 失败重试次数 */
+    private final int retryTimes;
+
+    public DashscopeClient(Generation generation, String apiKey, LlmRateLimiter limiter, LlmMetrics metrics, int retryTimes) {
+        this.generation = generation;
+        this.apiKey = apiKey;
+        this.limiter = limiter;
+        this.metrics = metrics;
+        this.retryTimes = retryTimes;
+    }
+
+    /**
+     * 同步调用
+     *
+     * @param model    模型名称
+     * @param messages 消息列表
+     * @return 调用结果
+     */
+    public GenerationResult call(String model, List<Message> messages) throws NoApiKeyException, InputRequiredException {
+        return call(model, messages, LlmPriority.NORMAL);
+    }
+
+    /**
+     * 按优先级排队的同步调用
+     *
+     * @param model    模型名称
+     * @param messages 消息列表
+     * @param priority 优先级
+     * @return 调用结果
+     */
+    public GenerationResult call(String model, List<Message> messages, LlmPriority priority) throws NoApiKeyException, InputRequiredException {
+        return call(model, messages, priority, () -> {
+        });
+    }
+
+    /**
+     * 按优先级排队的同步调用
+     *
+     * @param model      模型名称
+     * @param messages   消息列表
+     * @param priority   优先级
+     * @param onAcquired 每次获得调用额度、发出请求前回调
+     * @return 调用结果
+     */
+    public GenerationResult call(String model, List<Message> messages, LlmPriority priority, Runnable onAcquired)
+            throws NoApiKeyException, InputRequiredException {
+        GenerationParam param = buildParam(model, messages);
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return callOnce(model, param, priority, onAcquired);
+            } catch (ApiException e) {
+                if (attempt >= retryTimes || !isRetryable(e)) {
+                    throw e;
+                }
+                metrics.recordRetry(model);
+            }
+        }
+    }
+
+    private GenerationResult callOnce(String model, GenerationParam param, LlmPriority priority, Runnable onAcquired)
+            throws NoApiKeyException, InputRequiredException {
+        limiter.acquire(priority);
+        long totalTokens = 0;
+        boolean throttled = false;
+        try {
+            onAcquired.run();
+            long start = System.currentTimeMillis();
+            GenerationResult result = generation.call(param);
+            GenerationUsage usage = result.getUsage();
+            long inputTokens = usage == null || usage.getInputTokens() == null ? 0 : usage.getInputTokens();
+            long outputTokens = usage == null || usage.getOutputTokens() == null ? 0 : usage.getOutputTokens();
+            totalTokens = inputTokens + outputTokens;
+            metrics.recordSuccess(model, -1, System.currentTimeMillis() - start, inputTokens, outputTokens);
+            return result;
+        } catch (Exception e) {
+            throttled = isThrottled(e);
+            metrics.recordFailure(model, throttled, e);
+            throw e;
+        } finally {
+            limiter.release(totalTokens, throttled);
+        }
+    }
+
+    public LlmRateLimiter getLimiter() {
+        return limiter;
+    }
+
+    /**
+     * 网络异常（无HTTP状态）与服务端5xx错误可重试，限流与其他4xx错误不重试
+     */
+    private static boolean isRetryable(ApiException e) {
+        if (isThrottled(e)) {
+            return false;
+        }
+        int statusCode = e.getStatus() == null ? 0 : e.getStatus().getStatusCode();
+        return statusCode <= 0 || statusCode >= 500;
+    }
+
+    /**
+     * 按SDK异常中的HTTP状态码与错误码判断是否被限流
+     */
+    private static boolean isThrottled(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ApiException) {
+                Status status = ((ApiException) t).getStatus();
+                return status != null && LlmRateLimiter.isThrottled(status.getStatusCode(), status.getCode());
+            }
+        }
+        return false;
+    }
+
+    private GenerationParam buildParam(String model, List<Message> messages) {
+        return GenerationParam.builder()
+                .apiKey(apiKey)
+                .model(model)
+                .messages(messages)
+                .resultFormat(GenerationParam.ResultFormat.MESSAGE)
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.sgs.busi.llm;
+
+import com.alibaba.dashscope.aigc.generation.GenerationResult;
+import com.alibaba.dashscope.aigc.generation.GenerationUsage;
+import com.sgs.busi.utils.DashscopeUtils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 阿里-百炼
+ */
+public class DashscopeProvider implements LlmProvider {
+
+    public static final String NAME = "dashscope";
+
+    private final DashscopeClient client;
+
+    private final String model;
+
+    public DashscopeProvider(DashscopeClient client, String model) {
+        this.client = client;
+        this.model = model;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getModel() {
+        return model;
+    }
+
+    @Override
+    public LlmResponse chat(String systemContent, String userContent, LlmPriority priority, Runnable onAcquired) throws Exception {
+        AtomicLong start = new AtomicLong();
+        GenerationResult result = client.call(model, DashscopeUtils.buildCheckMessages(systemContent, userContent), priority, () -> {
+            start.set(System.currentTimeMillis());
+            onAcquired.run();
+        });
+        GenerationUsage usage = result.getUsage();
+        return new LlmResponse(NAME, model, result.getOutput().getChoices().get(0).getMessage().getContent(),
+                usage == null || usage.getInputTokens() == null ? 0 : usage.getInputTokens(),
+                usage == null || usage.getOutputTokens() == null ? 0 : usage.getOutputTokens(),
+                System.currentTimeMillis() - start.get());
+    }
+}
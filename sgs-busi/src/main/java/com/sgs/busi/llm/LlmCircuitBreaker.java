@@ -0,0 +1,75 @@
+package com.sgs.busi.llm;
+
+/**
+ * 熔断器
+ * <p>
+ * 连续失败达到阈值后打开，打开期间拒绝调用；到期后放行一次试探调用，成功则关闭，失败则重新打开。
+ * 试探调用被取消、未能提交或抛出Error时没有结论，调用方通过 {@link #release()} 交还试探名额；
+ * 未交还的试探超过熔断时长后视为丢失，再放行一次试探，熔断器不会停在半开状态。
+ */
+public class LlmCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+
+    private int consecutiveFailures;
+
+    private long openUntil;
+
+    private long probeStarted;
+
+    public LlmCircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * 是否允许调用，熔断到期后只允许一个试探调用
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if ((state == State.OPEN && now >= openUntil) || (state == State.HALF_OPEN && now - probeStarted >= openMillis)) {
+            state = State.HALF_OPEN;
+            probeStarted = now;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 调用没有结论时交还试探名额，下一次调用可立即试探
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN) {
+            state = State.OPEN;
+            openUntil = System.currentTimeMillis();
+        }
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openUntil = System.currentTimeMillis() + openMillis;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,71 @@
+package com.sgs.busi.llm;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 固定分桶的耗时直方图，无锁累加，分位数按桶上界近似
+ */
+public class LlmLatencyHistogram {
+
+    /** 桶上界（毫秒），最后一个桶收纳超出部分 */
+    private static final long[] BOUNDS = { 100, 250, 500, 1000, 2000, 5000, 10000, 20000, 30000, 60000, 120000 };
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sum = new LongAdder();
+
+    public LlmLatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long millis) {
+        int i = 0;
+        while (i < BOUNDS.length && millis > BOUNDS[i]) {
+            i++;
+        }
+        buckets[i].increment();
+        count.increment();
+        sum.add(millis);
+    }
+
+    /**
+     * 近似分位数，返回所在桶的上界；落在最后一个桶时返回-1表示超过最大上界
+     */
+    public long percentile(double percentile) {
+        long total = count.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < BOUNDS.length; i++) {
+            seen += buckets[i].sum();
+            if (seen >= target) {
+                return BOUNDS[i];
+            }
+        }
+        return -1;
+    }
+
+    public Map<String, Object> snapshot() {
+        long total = count.sum();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", total);
+        result.put("avg", total == 0 ? 0 : sum.sum() / total);
+        result.put("p50", percentile(0.5));
+        result.put("p95", percentile(0.95));
+        result.put("p99", percentile(0.99));
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < buckets.length; i++) {
+            histogram.put(i < BOUNDS.length ? "le" + BOUNDS[i] : "inf", buckets[i].sum());
+        }
+        result.put("buckets", histogram);
+        return result;
+    }
+}
@@ -0,0 +1,47 @@
+package com.sgs.busi.llm;
+
+import java.util.Arrays;
+
+/**
+ * 最近若干次成功调用的耗时滑动窗口，用于估算分位数
+ */
+public class LlmLatencyWindow {
+
+    private final long[] samples;
+
+    private int count;
+
+    private int next;
+
+    public LlmLatencyWindow(int size) {
+        this.samples = new long[size];
+    }
+
+    public synchronized void record(long millis) {
+        samples[next] = millis;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+    }
+
+    /**
+     * 计算分位数
+     *
+     * @param percentile 分位，如0.95
+     * @param minSamples 最少样本数
+     * @return 耗时（毫秒），样本不足时返回-1
+     */
+    public long percentile(double percentile, int minSamples) {
+        long[] copy;
+        synchronized (this) {
+            if (count < minSamples) {
+                return -1;
+            }
+            copy = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(copy);
+        int index = (int) Math.ceil(percentile * copy.length) - 1;
+        return copy[Math.max(0, Math.min(index, copy.length - 1))];
+    }
+}
@@ -0,0 +1,220 @@
+package com.sgs.busi.llm;
+
+import org.springframework.stereotype.Component;
+
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 大模型调用指标
+ * <p>
+ * 按模型统计首token耗时与总耗时直方图、输入输出token数、错误/超时/限流/重试次数，按路由统计对冲与故障切换次数，
+ * 按缓存名称统计命中率。服务商未返回用量的调用只记录字符数，与token数分开统计。全部为进程内计数，服务重启后清零。
+ */
+@Component
+public class LlmMetrics {
+
+    private final Map<String, ModelStats> models = new ConcurrentHashMap<>();
+
+    private final Map<String, CacheStats> caches = new ConcurrentHashMap<>();
+
+    private final List<LlmRateLimiter> limiters = new CopyOnWriteArrayList<>();
+
+    private final LongAdder hedges = new LongAdder();
+
+    private final LongAdder failovers = new LongAdder();
+
+    /**
+     * 记录一次成功调用
+     *
+     * @param model        模型名称
+     * @param ttftMillis   首token耗时，非流式调用传-1
+     * @param totalMillis  总耗时
+     * @param inputTokens  输入token数
+     * @param outputTokens 输出token数
+     */
+    public void recordSuccess(String model, long ttftMillis, long totalMillis, long inputTokens, long outputTokens) {
+        ModelStats stats = stats(model);
+        stats.calls.increment();
+        if (ttftMillis >= 0) {
+            stats.ttft.record(ttftMillis);
+        }
+        stats.total.record(totalMillis);
+        stats.inputTokens.add(inputTokens);
+        stats.outputTokens.add(outputTokens);
+    }
+
+    /**
+     * 记录一次未返回用量的成功调用，字符数不计入token数
+     *
+     * @param model       模型名称
+     * @param ttftMillis  首token耗时，非流式调用传-1
+     * @param totalMillis 总耗时
+     * @param inputChars  输入字符数
+     * @param outputChars 输出字符数
+     */
+    public void recordSuccessWithoutUsage(String model, long ttftMillis, long totalMillis, long inputChars, long outputChars) {
+        ModelStats stats = stats(model);
+        stats.calls.increment();
+        stats.callsWithoutUsage.increment();
+        if (ttftMillis >= 0) {
+            stats.ttft.record(ttftMillis);
+        }
+        stats.total.record(totalMillis);
+        stats.inputChars.add(inputChars);
+        stats.outputChars.add(outputChars);
+    }
+
+    /**
+     * 记录一次失败调用
+     *
+     * @param model     模型名称
+     * @param throttled 是否被服务商限流
+     * @param e         异常
+     */
+    public void recordFailure(String model, boolean throttled, Throwable e) {
+        ModelStats stats = stats(model);
+        stats.calls.increment();
+        stats.errors.increment();
+        if (throttled) {
+            stats.throttled.increment();
+        }
+        if (isTimeout(e)) {
+            stats.timeouts.increment();
+        }
+    }
+
+    /**
+     * 记录一次重试，失败的那次调用已由 {@link #recordFailure} 记录
+     *
+     * @param model 模型名称
+     */
+    public void recordRetry(String model) {
+        stats(model).retries.increment();
+    }
+
+    public void recordHedge() {
+        hedges.increment();
+    }
+
+    public void recordFailover() {
+        failovers.increment();
+    }
+
+    public void recordCache(String cache, boolean hit) {
+        CacheStats stats = caches.computeIfAbsent(cache, k -> new CacheStats());
+        (hit ? stats.hits : stats.misses).increment();
+    }
+
+    public void registerLimiter(LlmRateLimiter limiter) {
+        limiters.add(limiter);
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        Map<String, Object> modelResult = new LinkedHashMap<>();
+        models.forEach((model, stats) -> modelResult.put(model, stats.snapshot()));
+        result.put("models", modelResult);
+        Map<String, Object> router = new LinkedHashMap<>();
+        router.put("hedges", hedges.sum());
+        router.put("failovers", failovers.sum());
+        result.put("router", router);
+        Map<String, Object> cacheResult = new LinkedHashMap<>();
+        caches.forEach((cache, stats) -> cacheResult.put(cache, stats.snapshot()));
+        result.put("caches", cacheResult);
+        List<Map<String, Object>> limiterResult = new ArrayList<>();
+        for (LlmRateLimiter limiter : limiters) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("name", limiter.getName());
+            item.put("concurrencyLimit", limiter.getConcurrencyLimit());
+            item.put("inflight", limiter.getInflight());
+            item.put("queued", limiter.getQueued());
+            limiterResult.add(item);
+        }
+        result.put("limiters", limiterResult);
+        return result;
+    }
+
+    private ModelStats stats(String model) {
+        return models.computeIfAbsent(model, k -> new ModelStats());
+    }
+
+    private static boolean isTimeout(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SocketTimeoutException || t instanceof TimeoutException
+                    || (t instanceof InterruptedIOException && "timeout".equals(t.getMessage()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class ModelStats {
+
+        private final LongAdder calls = new LongAdder();
+
+        private final LongAdder errors = new LongAdder();
+
+        private final LongAdder timeouts = new LongAdder();
+
+        private final LongAdder throttled = new LongAdder();
+
+        private final LongAdder retries = new LongAdder();
+
+        private final LongAdder inputTokens = new LongAdder();
+
+        private final LongAdder outputTokens = new LongAdder();
+
+        private final LongAdder callsWithoutUsage = new LongAdder();
+
+        private final LongAdder inputChars = new LongAdder();
+
+        private final LongAdder outputChars = new LongAdder();
+
+        private final LlmLatencyHistogram ttft = new LlmLatencyHistogram();
+
+        private final LlmLatencyHistogram total = new LlmLatencyHistogram();
+
+        private Map<String, Object> snapshot() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("calls", calls.sum());
+            result.put("errors", errors.sum());
+            result.put("timeouts", timeouts.sum());
+            result.put("throttled", throttled.sum());
+            result.put("retries", retries.sum());
+            result.put("inputTokens", inputTokens.sum());
+            result.put("outputTokens", outputTokens.sum());
+            result.put("callsWithoutUsage", callsWithoutUsage.sum());
+            result.put("inputCharsWithoutUsage", inputChars.sum());
+            result.put("outputCharsWithoutUsage", outputChars.sum());
+            result.put("ttft", ttft.snapshot());
+            result.put("latency", total.snapshot());
+            return result;
+        }
+    }
+
+    private static class CacheStats {
+
+        private final LongAdder hits = new LongAdder();
+
+        private final LongAdder misses = new LongAdder();
+
+        private Map<String, Object> snapshot() {
+            long hit = hits.sum();
+            long total = hit + misses.sum();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("hits", hit);
+            result.put("misses", total - hit);
+            result.put("hitRatio", total == 0 ? 0 : (double) hit / total);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.sgs.busi.llm;
+
+/**
+ * 大模型调用优先级，限流排队时高优先级先出队
+ */
+public enum LlmPriority {
+
+    /** 用户在线等待，如流式审核 */
+    HIGH,
+
+    /** 默认 */
+    NORMAL,
+
+    /** 后台批量审核 */
+    LOW
+}
@@ -0,0 +1,31 @@
+package com.sgs.busi.llm;
+
+/**
+ * 大模型服务商
+ * <p>
+ * 屏蔽各家SDK差异，只暴露合规审核所需的单轮问答。
+ */
+public interface LlmProvider {
+
+    /**
+     * 服务商名称，对应配置项 busi.llm.primary
+     */
+    String getName();
+
+    /**
+     * 模型名称
+     */
+    String getModel();
+
+    /**
+     * 同步调用
+     *
+     * @param systemContent 系统内容
+     * @param userContent   用户内容
+     * @param priority      限流排队优先级
+     * @param onAcquired    获得限流额度、即将发出请求时回调，重试时每次获得额度都会回调
+     * @return 模型回答，包含实现方统计的调用耗时与token用量；耗时从最后一次获得额度开始计算，不含排队时间
+     * @throws Exception 调用失败
+     */
+    LlmResponse chat(String systemContent, String userContent, LlmPriority priority, Runnable onAcquired) throws Exception;
+}
@@ -0,0 +1,219 @@
+package com.sgs.busi.llm;
+
+import com.sgs.common.exception.ServiceException;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 单个服务商的自适应限流器
+ * <p>
+ * 同时约束三项额度：并发数、每秒请求数（令牌桶）、每分钟token数（令牌桶，按接口返回的 usage.total_tokens 事后扣减，
+ * 允许透支，透支期间后续调用等待回补）。超出额度的调用按优先级排队，同优先级先到先得。
+ * 并发上限按AIMD调整：收到429时减半并暂停出队一段时间，每次成功调用加 1/上限，直至配置的最大并发数。
+ */
+public class LlmRateLimiter {
+
+    /** 收到429后暂停出队的时长 */
+    private static final long THROTTLE_PAUSE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /** 并发已满时的最长等待，防止错过唤醒 */
+    private static final long MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final String name;
+
+    private final int maxConcurrency;
+
+    /** 每秒请求数，小于等于0表示不限制 */
+    private final double requestsPerSecond;
+
+    /** 每分钟token数，小于等于0表示不限制 */
+    private final long tokensPerMinute;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition changed = lock.newCondition();
+
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>();
+
+    private long sequence;
+
+    private double concurrencyLimit;
+
+    private int inflight;
+
+    private double requestBucket;
+
+    private double tokenBucket;
+
+    private long lastRefill = System.nanoTime();
+
+    private long pausedUntil = lastRefill;
+
+    public LlmRateLimiter(String name, int maxConcurrency, double requestsPerSecond, long tokensPerMinute) {
+        this.name = name;
+        this.maxConcurrency = maxConcurrency;
+        this.requestsPerSecond = requestsPerSecond;
+        this.tokensPerMinute = tokensPerMinute;
+        this.concurrencyLimit = maxConcurrency;
+        this.requestBucket = Math.max(1, requestsPerSecond);
+        this.tokenBucket = tokensPerMinute;
+    }
+
+    /**
+     * 获取调用许可，额度不足时按优先级排队等待
+     *
+     * @param priority 优先级
+     */
+    public void acquire(LlmPriority priority) {
+        lock.lock();
+        Waiter waiter = new Waiter(priority, sequence++);
+        waiters.add(waiter);
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                refill(now);
+                if (waiters.peek() == waiter) {
+                    long waitNanos = waitNanos(now);
+                    if (waitNanos <= 0) {
+                        waiters.poll();
+                        inflight++;
+                        requestBucket -= 1;
+                        changed.signalAll();
+                        return;
+                    }
+                    changed.awaitNanos(waitNanos);
+                } else {
+                    changed.awaitNanos(MAX_WAIT_NANOS);
+                }
+            }
+        } catch (InterruptedException e) {
+            waiters.remove(waiter);
+            changed.signalAll();
+            Thread.currentThread().interrupt();
+            throw new ServiceException("等待大模型[" + name + "]调用额度时被中断");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 归还调用许可
+     *
+     * @param totalTokens 本次调用实际消耗的token数，未知时为0
+     * @param throttled   是否被服务商限流（HTTP 429）
+     */
+    public void release(long totalTokens, boolean throttled) {
+        lock.lock();
+        try {
+            inflight--;
+            if (tokensPerMinute > 0) {
+                tokenBucket -= totalTokens;
+            }
+            if (throttled) {
+                concurrencyLimit = Math.max(1, concurrencyLimit / 2);
+                pausedUntil = System.nanoTime() + THROTTLE_PAUSE_NANOS;
+            } else {
+                concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1 / concurrencyLimit);
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long now) {
+        double seconds = (now - lastRefill) / 1e9;
+        lastRefill = now;
+        if (requestsPerSecond > 0) {
+            requestBucket = Math.min(Math.max(1, requestsPerSecond), requestBucket + seconds * requestsPerSecond);
+        }
+        if (tokensPerMinute > 0) {
+            tokenBucket = Math.min(tokensPerMinute, tokenBucket + seconds * tokensPerMinute / 60);
+        }
+    }
+
+    /**
+     * 距离下一次可出队还需等待的时间，0表示可以立即出队
+     */
+    private long waitNanos(long now) {
+        if (now < pausedUntil) {
+            return pausedUntil - now;
+        }
+        if (inflight >= (int) concurrencyLimit) {
+            return MAX_WAIT_NANOS;
+        }
+        if (requestsPerSecond > 0 && requestBucket < 1) {
+            return (long) ((1 - requestBucket) / requestsPerSecond * 1e9) + 1;
+        }
+        if (tokensPerMinute > 0 && tokenBucket < 1) {
+            return (long) ((1 - tokenBucket) / tokensPerMinute * 60 * 1e9) + 1;
+        }
+        return 0;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 当前自适应并发上限
+     */
+    public int getConcurrencyLimit() {
+        lock.lock();
+        try {
+            return (int) concurrencyLimit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInflight() {
+        lock.lock();
+        try {
+            return inflight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 是否为服务商限流响应：HTTP状态码429，或错误码以Throttling、RateLimit开头。
+     * 两家SDK的异常类型不同，由各自客户端取出状态码与错误码后判断，不按异常消息文本匹配
+     *
+     * @param statusCode HTTP状态码，没有响应时为0
+     * @param code       服务商错误码，可为空
+     */
+    public static boolean isThrottled(int statusCode, String code) {
+        return statusCode == 429 || (code != null && (code.startsWith("Throttling") || code.startsWith("RateLimit")));
+    }
+
+    private static class Waiter implements Comparable<Waiter> {
+
+        private final LlmPriority priority;
+
+        private final long sequence;
+
+        private Waiter(LlmPriority priority, long sequence) {
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Waiter o) {
+            int c = priority.compareTo(o.priority);
+            return c != 0 ? c : Long.compare(sequence, o.sequence);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.sgs.busi.llm;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 大模型回答
+ */
+@Getter
+@AllArgsConstructor
+public class LlmResponse {
+
+    /** 服务商名称 */
+    private final String provider;
+
+    /** 模型名称 */
+    private final String model;
+
+    /** 回答内容 */
+    private final String content;
+
+    /** 输入token数 */
+    private final long inputTokens;
+
+    /** 输出token数 */
+    private final long outputTokens;
+
+    /** 调用耗时（毫秒） */
+    private final long latencyMillis;
+}
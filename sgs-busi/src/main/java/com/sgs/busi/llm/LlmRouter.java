@@ -0,0 +1,325 @@
+package com.sgs.busi.llm;
+
+import com.sgs.common.exception.ServiceException;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 大模型路由
+ * <p>
+ * 优先调用主服务商；主服务商在其近期P95耗时内仍未返回时，向下一个服务商发出对冲请求，取最先成功的回答；
+ * 调用失败时立即切换到下一个服务商。每个服务商各自维护熔断器，熔断期间直接跳过。
+ * <p>
+ * P95只统计服务商自身的调用耗时，对冲计时也从主调用获得限流额度后开始，排队等待额度的时间不计入，
+ * 避免额度紧张时误发对冲请求。调用线程池已满时抛出 {@link TaskRejectedException}，由调用方稍后重试。
+ */
+@Slf4j
+@Component
+public class LlmRouter {
+
+    /** 计算对冲延迟所需的最少样本数，不足时使用默认延迟 */
+    private static final int MIN_SAMPLES = 20;
+
+    /** 最近一次调用仍在排队等待限流额度时，检查是否已获得额度的间隔（毫秒） */
+    private static final long QUEUE_POLL_MILLIS = 50;
+
+    /** 主服务商名称 */
+    @Value("${busi.llm.primary:dashscope}")
+    private String primary;
+
+    /** 是否启用对冲请求 */
+    @Value("${busi.llm.hedge.enabled:true}")
+    private boolean hedgeEnabled;
+
+    /** 样本不足时的对冲延迟（毫秒） */
+    @Value("${busi.llm.hedge.defaultDelayMs:10000}")
+    private long hedgeDefaultDelayMs;
+
+    /** 对冲延迟下限（毫秒） */
+    @Value("${busi.llm.hedge.minDelayMs:2000}")
+    private long hedgeMinDelayMs;
+
+    /** 对冲延迟上限（毫秒） */
+    @Value("${busi.llm.hedge.maxDelayMs:30000}")
+    private long hedgeMaxDelayMs;
+
+    /** 熔断连续失败次数 */
+    @Value("${busi.llm.breaker.failureThreshold:5}")
+    private int breakerFailureThreshold;
+
+    /** 熔断持续时间（秒） */
+    @Value("${busi.llm.breaker.openSeconds:30}")
+    private int breakerOpenSeconds;
+
+    @Autowired
+    private List<LlmProvider> providers;
+
+    @Autowired
+    private LlmMetrics llmMetrics;
+
+    @Autowired
+    @Qualifier("llmCallExecutor")
+    private ThreadPoolTaskExecutor llmCallExecutor;
+
+    /** 按优先级排列的服务商，主服务商在前 */
+    private final Map<String, ProviderState> states = new LinkedHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        List<LlmProvider> ordered = new ArrayList<>(providers);
+        ordered.sort((a, b) -> Boolean.compare(!primary.equals(a.getName()), !primary.equals(b.getName())));
+        for (LlmProvider provider : ordered) {
+            states.put(provider.getName(), new ProviderState(provider,
+                    new LlmCircuitBreaker(breakerFailureThreshold, TimeUnit.SECONDS.toMillis(breakerOpenSeconds)),
+                    new LlmLatencyWindow(200)));
+        }
+    }
+
+    /**
+     * 主服务商模型名称，作为审核结论缓存键的一部分
+     */
+    public String getPrimaryModel() {
+        return states.values().iterator().next().provider.getModel();
+    }
+
+    /**
+     * 调用大模型，返回最先成功的回答
+     *
+     * @param systemContent 系统内容
+     * @param userContent   用户内容
+     * @param priority      限流排队优先级
+     * @return 最先成功的服务商的回答
+     * @throws Exception 所有服务商均失败时抛出最后一个异常
+     */
+    public LlmResponse chat(String systemContent, String userContent, LlmPriority priority) throws Exception {
+        return chat(systemContent, userContent, priority, null);
+    }
+
+    /**
+     * 优先调用指定服务商，其余服务商用于对冲与故障切换
+     *
+     * @param systemContent 系统内容
+     * @param userContent   用户内容
+     * @param priority      限流排队优先级
+     * @param preferred     优先调用的服务商名称，为空时使用主服务商
+     * @return 最先成功的服务商的回答
+     * @throws TaskRejectedException 调用线程池已满，未发出任何调用
+     * @throws Exception 所有服务商均失败时抛出最后一个异常
+     */
+    public LlmResponse chat(String systemContent, String userContent, LlmPriority priority, String preferred) throws Exception {
+        List<ProviderState> candidates = new ArrayList<>(states.values());
+        ProviderState first = preferred == null ? null : states.get(preferred);
+        if (first != null) {
+            candidates.remove(first);
+            candidates.add(0, first);
+        }
+        CompletionService<LlmResponse> completionService = new ExecutorCompletionService<>(llmCallExecutor.getThreadPoolExecutor());
+        List<Future<LlmResponse>> futures = new ArrayList<>();
+        // 已得出结果后被取消的调用不计入熔断
+        AtomicBoolean settled = new AtomicBoolean();
+        // 最近一次发出的调用获得限流额度的时间，0表示仍在排队
+        AtomicLong acquiredAt = new AtomicLong();
+        Exception lastError = null;
+        int next = 0;
+        int pending = 0;
+        try {
+            while (true) {
+                // 没有在途调用时按优先级找下一个未熔断的服务商
+                while (pending == 0 && next < candidates.size()) {
+                    ProviderState state = candidates.get(next++);
+                    if (state.breaker.allowRequest()) {
+                        if (lastError != null) {
+                            llmMetrics.recordFailover();
+                        }
+                        acquiredAt = new AtomicLong();
+                        Future<LlmResponse> future = submit(completionService, state, systemContent, userContent, priority, settled, acquiredAt);
+                        if (future == null) {
+                            throw new TaskRejectedException("大模型调用线程池已满");
+                        }
+                        futures.add(future);
+                        pending++;
+                    }
+                }
+                if (pending == 0) {
+                    break;
+                }
+                Future<LlmResponse> done;
+                if (hedgeEnabled && next < candidates.size()) {
+                    long acquired = acquiredAt.get();
+                    if (acquired == 0) {
+                        // 仍在排队等待额度，对冲计时尚未开始
+                        done = completionService.poll(QUEUE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                        if (done == null) {
+                            continue;
+                        }
+                    } else {
+                        long remaining = acquired + hedgeDelay(candidates.get(next - 1)) - System.currentTimeMillis();
+                        done = remaining > 0 ? completionService.poll(remaining, TimeUnit.MILLISECONDS) : completionService.poll();
+                        if (done == null) {
+                            ProviderState hedge = candidates.get(next++);
+                            if (hedge.breaker.allowRequest()) {
+                                AtomicLong hedgeAcquiredAt = new AtomicLong();
+                                Future<LlmResponse> future = submit(completionService, hedge, systemContent, userContent, priority, settled,
+                                        hedgeAcquiredAt);
+                                if (future == null) {
+                                    // 线程池已满时放弃对冲，继续等待在途调用
+                                    log.debug("对冲请求未能提交，线程池已满");
+                                } else {
+                                    log.info("大模型调用超过对冲延迟，向[{}]发出对冲请求", hedge.provider.getName());
+                                    llmMetrics.recordHedge();
+                                    futures.add(future);
+                                    acquiredAt = hedgeAcquiredAt;
+                                    pending++;
+                                }
+                            }
+                            continue;
+                        }
+                    }
+                } else {
+                    done = completionService.take();
+                }
+                pending--;
+                try {
+                    return done.get();
+                } catch (ExecutionException e) {
+                    lastError = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+            }
+        } finally {
+            settled.set(true);
+            for (Future<LlmResponse> future : futures) {
+                future.cancel(true);
+            }
+        }
+        if (lastError == null) {
+            throw new ServiceException("大模型服务均已熔断，请稍后再试");
+        }
+        throw lastError;
+    }
+
+    /**
+     * 只调用指定服务商，不对冲、不切换，用于抽样复核
+     *
+     * @param provider      服务商名称
+     * @param systemContent 系统内容
+     * @param userContent   用户内容
+     * @param priority      限流排队优先级
+     * @return 模型回答
+     * @throws Exception 调用失败或服务商已熔断
+     */
+    public LlmResponse chatWith(String provider, String systemContent, String userContent, LlmPriority priority) throws Exception {
+        ProviderState state = requireState(provider);
+        if (!state.breaker.allowRequest()) {
+            throw new ServiceException("大模型[" + provider + "]已熔断");
+        }
+        return invoke(state, systemContent, userContent, priority, new AtomicBoolean(), new AtomicLong());
+    }
+
+    /**
+     * 服务商对应的模型名称
+     */
+    public String getModel(String provider) {
+        return requireState(provider).provider.getModel();
+    }
+
+    /**
+     * 服务商近期成功调用的耗时分位数
+     *
+     * @return 耗时（毫秒），样本不足时返回-1
+     */
+    public long getLatencyPercentile(String provider, double percentile) {
+        return requireState(provider).latency.percentile(percentile, MIN_SAMPLES);
+    }
+
+    private ProviderState requireState(String provider) {
+        ProviderState state = states.get(provider);
+        if (state == null) {
+            throw new ServiceException("未配置大模型服务商：" + provider);
+        }
+        return state;
+    }
+
+    /**
+     * 提交调用，线程池已满时归还熔断器的试探额度并返回null
+     */
+    private Future<LlmResponse> submit(CompletionService<LlmResponse> completionService, ProviderState state, String systemContent,
+            String userContent, LlmPriority priority, AtomicBoolean settled, AtomicLong acquiredAt) {
+        try {
+            return completionService.submit(() -> invoke(state, systemContent, userContent, priority, settled, acquiredAt));
+        } catch (RejectedExecutionException e) {
+            state.breaker.release();
+            return null;
+        } catch (RuntimeException e) {
+            state.breaker.release();
+            throw e;
+        }
+    }
+
+    private LlmResponse invoke(ProviderState state, String systemContent, String userContent, LlmPriority priority,
+            AtomicBoolean settled, AtomicLong acquiredAt) throws Exception {
+        try {
+            LlmResponse answer = state.provider.chat(systemContent, userContent, priority,
+                    () -> acquiredAt.set(System.currentTimeMillis()));
+            // 只记录服务商自身的调用耗时，不含排队等待额度的时间
+            state.latency.record(answer.getLatencyMillis());
+            state.breaker.onSuccess();
+            return answer;
+        } catch (Exception e) {
+            if (settled.get()) {
+                state.breaker.release();
+            } else {
+                state.breaker.onFailure();
+                log.warn("大模型[{}]调用失败：{}", state.provider.getName(), e.getMessage());
+            }
+            throw e;
+        } catch (Error e) {
+            state.breaker.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 对冲延迟：该服务商近期成功调用的P95耗时，限制在上下限之间
+     */
+    private long hedgeDelay(ProviderState state) {
+        long p95 = state.latency.percentile(0.95, MIN_SAMPLES);
+        if (p95 < 0) {
+            return hedgeDefaultDelayMs;
+        }
+        return Math.max(hedgeMinDelayMs, Math.min(hedgeMaxDelayMs, p95));
+    }
+
+    private static class ProviderState {
+
+        private final LlmProvider provider;
+
+        private final LlmCircuitBreaker breaker;
+
+        private final LlmLatencyWindow latency;
+
+        private ProviderState(LlmProvider provider, LlmCircuitBreaker breaker, LlmLatencyWindow latency) {
+            this.provider = provider;
+            this.breaker = breaker;
+            this.latency = latency;
+        }
+    }
+}
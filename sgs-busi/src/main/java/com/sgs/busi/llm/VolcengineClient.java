@@ -0,0 +1,224 @@
+package com.sgs.busi.llm;
+
+import com.volcengine.ark.runtime.exception.ArkHttpException;
+import com.volcengine.ark.runtime.model.Usage;
+import com.volcengine.ark.runtime.model.completion.chat.ChatCompletionChunk;
+import com.volcengine.ark.runtime.model.completion.chat.ChatCompletionRequest;
+import com.volcengine.ark.runtime.model.completion.chat.ChatCompletionResult;
+import com.volcengine.ark.runtime.model.completion.chat.ChatMessage;
+import com.volcengine.ark.runtime.service.ArkService;
+import io.reactivex.Flowable;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 字节-火山引擎共享客户端
+ * <p>
+ * 整个应用复用同一个 {@link ArkService}（同一个 OkHttp 调度器与连接池），由 Spring 容器在关闭时统一释放。
+ * 所有调用经过 {@link LlmRateLimiter} 排队。
+ * <p>
+ * SDK内置的重试会对429立即重发，因此创建 {@link ArkService} 时关闭SDK重试：同步调用的网络异常与服务端5xx错误由这里按配置的次数重试，
+ * 每次重试重新排队获取额度；被限流的调用不重试，交给限流器降低并发。流式调用可能已输出部分内容，不重试。
+ */
+public class VolcengineClient {
+
+    private final ArkService arkService;
+
+    private final LlmRateLimiter limiter;
+
+    private final LlmMetrics metrics;
+
+    /** 失败重试次数 */
+    private final int retryTimes;
+
+    public VolcengineClient(ArkService arkService, LlmRateLimiter limiter, LlmMetrics metrics, int retryTimes) {
+        this.arkService = arkService;
+        this.limiter = limiter;
+        this.metrics = metrics;
+        this.retryTimes = retryTimes;
+    }
+
+    /**
+     * 同步对话
+     *
+     * @param request 请求
+     * @return 对话结果
+     */
+    public ChatCompletionResult createChatCompletion(ChatCompletionRequest request) {
+        return createChatCompletion(request, LlmPriority.NORMAL);
+    }
+
+    /**
+     * 按优先级排队的同步对话
+     *
+     * @param request  请求
+     * @param priority 优先级
+     * @return 对话结果
+     */
+    public ChatCompletionResult createChatCompletion(ChatCompletionRequest request, LlmPriority priority) {
+        return createChatCompletion(request, priority, () -> {
+        });
+    }
+
+    /**
+     * 按优先级排队的同步对话
+     *
+     * @param request    请求
+     * @param priority   优先级
+     * @param onAcquired 每次获得调用额度、发出请求前回调
+     * @return 对话结果
+     */
+    public ChatCompletionResult createChatCompletion(ChatCompletionRequest request, LlmPriority priority, Runnable onAcquired) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return createChatCompletionOnce(request, priority, onAcquired);
+            } catch (RuntimeException e) {
+                if (attempt >= retryTimes || !isRetryable(e)) {
+                    throw e;
+                }
+                metrics.recordRetry(request.getModel());
+            }
+        }
+    }
+
+    private ChatCompletionResult createChatCompletionOnce(ChatCompletionRequest request, LlmPriority priority, Runnable onAcquired) {
+        limiter.acquire(priority);
+        long totalTokens = 0;
+        boolean throttled = false;
+        try {
+            onAcquired.run();
+            long start = System.currentTimeMillis();
+            ChatCompletionResult result = arkService.createChatCompletion(request);
+            Usage usage = result.getUsage();
+            if (usage != null) {
+                totalTokens = usage.getTotalTokens();
+            }
+            metrics.recordSuccess(request.getModel(), -1, System.currentTimeMillis() - start,
+                    usage == null ? 0 : usage.getPromptTokens(), usage == null ? 0 : usage.getCompletionTokens());
+            return result;
+        } catch (RuntimeException e) {
+            throttled = isThrottled(e);
+            metrics.recordFailure(request.getModel(), throttled, e);
+            throw e;
+        } finally {
+            limiter.release(totalTokens, throttled);
+        }
+    }
+
+    /**
+     * 流式对话
+     *
+     * @param request 请求
+     * @return 结果流
+     */
+    public Flowable<ChatCompletionChunk> streamChatCompletion(ChatCompletionRequest request) {
+        return streamChatCompletion(request, LlmPriority.HIGH);
+    }
+
+    /**
+     * 流式对话，订阅时获取调用许可，流结束或取消时归还。
+     * 流式响应默认不带用量，此时指标只记录输入输出字符数，不计入token数，限流器的token额度按字符数估算；首个内容块到达时记为首token耗时
+     *
+     * @param request  请求
+     * @param priority 优先级
+     * @return 结果流
+     */
+    public Flowable<ChatCompletionChunk> streamChatCompletion(ChatCompletionRequest request, LlmPriority priority) {
+        return Flowable.defer(() -> {
+            limiter.acquire(priority);
+            long start = System.currentTimeMillis();
+            long promptLength = promptLength(request);
+            AtomicLong firstTokenAt = new AtomicLong(-1);
+            AtomicReference<Usage> usage = new AtomicReference<>();
+            AtomicLong outputLength = new AtomicLong();
+            AtomicBoolean throttled = new AtomicBoolean();
+            return arkService.streamChatCompletion(request)
+                    .doOnNext(chunk -> {
+                        if (chunk.getUsage() != null) {
+                            usage.set(chunk.getUsage());
+                        } else if (chunk.getChoices() != null && !chunk.getChoices().isEmpty()) {
+                            firstTokenAt.compareAndSet(-1, System.currentTimeMillis());
+                            outputLength.addAndGet(contentLength(chunk.getChoices().get(0).getMessage()));
+                        }
+                    })
+                    .doOnComplete(() -> {
+                        long ttft = firstTokenAt.get() < 0 ? -1 : firstTokenAt.get() - start;
+                        Usage u = usage.get();
+                        if (u != null) {
+                            metrics.recordSuccess(request.getModel(), ttft, System.currentTimeMillis() - start,
+                                    u.getPromptTokens(), u.getCompletionTokens());
+                        } else {
+                            metrics.recordSuccessWithoutUsage(request.getModel(), ttft, System.currentTimeMillis() - start,
+                                    promptLength, outputLength.get());
+                        }
+                    })
+                    .doOnError(e -> {
+                        throttled.set(isThrottled(e));
+                        metrics.recordFailure(request.getModel(), throttled.get(), e);
+                    })
+                    .doFinally(() -> limiter.release(usage.get() != null ? usage.get().getTotalTokens() : promptLength + outputLength.get(),
+                            throttled.get()));
+        });
+    }
+
+    public LlmRateLimiter getLimiter() {
+        return limiter;
+    }
+
+    /**
+     * 网络异常与服务端5xx错误可重试，限流与其他4xx错误不重试
+     */
+    private static boolean isRetryable(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ArkHttpException) {
+                int statusCode = ((ArkHttpException) t).statusCode;
+                return statusCode >= 500;
+            }
+            if (t instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 按SDK异常中的HTTP状态码与错误码判断是否被限流
+     */
+    private static boolean isThrottled(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ArkHttpException) {
+                ArkHttpException http = (ArkHttpException) t;
+                return LlmRateLimiter.isThrottled(http.statusCode, http.code);
+            }
+        }
+        return false;
+    }
+
+    private static long promptLength(ChatCompletionRequest request) {
+        long length = 0;
+        if (request.getMessages() != null) {
+            for (ChatMessage message : request.getMessages()) {
+                length += contentLength(message);
+            }
+        }
+        return length;
+    }
+
+    private static long contentLength(ChatMessage message) {
+        if (message == null) {
+            return 0;
+        }
+        long length = message.getContent() == null ? 0 : message.getContent().toString().length();
+        return length + (message.getReasoningContent() == null ? 0 : message.getReasoningContent().length());
+    }
+
+    /**
+     * 释放调度器与连接池
+     */
+    public void shutdown() {
+        arkService.shutdownExecutor();
+    }
+}
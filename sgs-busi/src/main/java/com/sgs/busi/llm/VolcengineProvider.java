@@ -0,0 +1,44 @@
+package com.sgs.busi.llm;
+
+import com.sgs.busi.utils.VolcengineUtils;
+import com.volcengine.ark.runtime.model.Usage;
+import com.volcengine.ark.runtime.model.completion.chat.ChatCompletionResult;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 火山引擎
+ */
+public class VolcengineProvider implements LlmProvider {
+
+    public static final String NAME = "volcengine";
+
+    private final VolcengineClient client;
+
+    public VolcengineProvider(VolcengineClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getModel() {
+        return VolcengineUtils.MODEL;
+    }
+
+    @Override
+    public LlmResponse chat(String systemContent, String userContent, LlmPriority priority, Runnable onAcquired) {
+        AtomicLong start = new AtomicLong();
+        ChatCompletionResult result = client.createChatCompletion(VolcengineUtils.buildCheckRequest(systemContent, userContent), priority, () -> {
+            start.set(System.currentTimeMillis());
+            onAcquired.run();
+        });
+        Usage usage = result.getUsage();
+        return new LlmResponse(NAME, getModel(), String.valueOf(result.getChoices().get(0).getMessage().getContent()),
+                usage == null ? 0 : usage.getPromptTokens(), usage == null ? 0 : usage.getCompletionTokens(),
+                System.currentTimeMillis() - start.get());
+    }
+}
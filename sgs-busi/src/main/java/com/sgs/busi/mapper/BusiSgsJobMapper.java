@@ -0,0 +1,53 @@
+package com.sgs.busi.mapper;
+
+import com.sgs.busi.domain.BusiSgsJob;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * SGS报告批量审核任务 数据层
+ */
+public interface BusiSgsJobMapper {
+
+    /**
+     * 查询任务
+     *
+     * @param jobId 任务ID
+     * @return 任务信息
+     */
+    public BusiSgsJob selectJobById(Long jobId);
+
+    /**
+     * 查询批次下的任务列表
+     *
+     * @param batchId 批次ID
+     * @return 任务集合
+     */
+    public List<BusiSgsJob> selectJobListByBatchId(String batchId);
+
+    /**
+     * 按状态查询待处理的任务
+     *
+     * @param status 任务状态
+     * @param limit  最大条数
+     * @return 任务集合
+     */
+    public List<BusiSgsJob> selectJobListByStatus(@Param("status") String status, @Param("limit") int limit);
+
+    /**
+     * 批量新增任务
+     *
+     * @param jobs 任务列表
+     * @return 结果
+     */
+    public int batchInsertJob(List<BusiSgsJob> jobs);
+
+    /**
+     * 修改任务
+     *
+     * @param job 任务信息
+     * @return 结果
+     */
+    public int updateJob(BusiSgsJob job);
+}
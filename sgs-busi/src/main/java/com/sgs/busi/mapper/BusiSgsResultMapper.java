@@ -0,0 +1,39 @@
+package com.sgs.busi.mapper;
+
+import com.sgs.busi.domain.BusiSgsResult;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * SGS报告审核结果 数据层
+ */
+public interface BusiSgsResultMapper {
+
+    /**
+     * 查询审核结果
+     *
+     * @param resultId 结果ID
+     * @return 审核结果
+     */
+    public BusiSgsResult selectResultById(Long resultId);
+
+    /**
+     * 按游标查询审核结果列表，按结果ID倒序
+     *
+     * @param query  查询条件，客户名称与样品名称为前缀匹配，params.beginTime / params.endTime 为时间范围
+     * @param lastId 上一页最后一条的结果ID，为空时从最新一条开始
+     * @param limit  最大条数
+     * @return 审核结果集合
+     */
+    public List<BusiSgsResult> selectResultList(@Param("query") BusiSgsResult query, @Param("lastId") Long lastId,
+            @Param("limit") int limit);
+
+    /**
+     * 批量新增审核结果
+     *
+     * @param results 审核结果列表
+     * @return 结果
+     */
+    public int batchInsertResult(List<BusiSgsResult> results);
+}
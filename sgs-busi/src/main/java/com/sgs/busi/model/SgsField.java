@@ -0,0 +1,57 @@
+package com.sgs.busi.model;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * SGS报告需要识别的字段
+ */
+public enum SgsField {
+
+    CUSTOMER_NAME("客户名称", true, SgsFileInfo::getCustomerName, SgsFileInfo::setCustomerName),
+
+    CUSTOMER_ADDRESS("客户地址", true, SgsFileInfo::getCustomerAddress, SgsFileInfo::setCustomerAddress),
+
+    SAMPLE_NAME("样品名称", true, SgsFileInfo::getSampleName, SgsFileInfo::setSampleName),
+
+    MODEL_NUMBER("型号", true, SgsFileInfo::getModelNumber, SgsFileInfo::setModelNumber),
+
+    MATERIAL_NUMBER("料号", false, SgsFileInfo::getMaterialNumber, SgsFileInfo::setMaterialNumber),
+
+    CUSTOMER_REFERENCE("客户参考信息", false, SgsFileInfo::getCustomerReference, SgsFileInfo::setCustomerReference),
+
+    SAMPLE_TYPE("样品类型", true, SgsFileInfo::getSampleType, SgsFileInfo::setSampleType);
+
+    /** 报告中的标签 */
+    private final String label;
+
+    /** 是否必须有值，为false时允许识别为空字符串 */
+    private final boolean valueRequired;
+
+    private final Function<SgsFileInfo, String> getter;
+
+    private final BiConsumer<SgsFileInfo, String> setter;
+
+    SgsField(String label, boolean valueRequired, Function<SgsFileInfo, String> getter, BiConsumer<SgsFileInfo, String> setter) {
+        this.label = label;
+        this.valueRequired = valueRequired;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public boolean isValueRequired() {
+        return valueRequired;
+    }
+
+    public String get(SgsFileInfo sgsFileInfo) {
+        return getter.apply(sgsFileInfo);
+    }
+
+    public void set(SgsFileInfo sgsFileInfo, String value) {
+        setter.accept(sgsFileInfo, value);
+    }
+}
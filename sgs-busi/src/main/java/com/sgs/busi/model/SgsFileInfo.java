@@ -10,6 +10,9 @@ import lombok.Setter;
 @Setter
 public class SgsFileInfo {
 
+    /** 文件内容SHA-256，由解析缓存填写 */
+    private String fileHash;
+
     public static final String SYSTEM_CONTENT = "你现在需要根据提供的规则帮我审核内容是否合规，如果不合规告诉我原因，规则如下：\n" +
             "客户名称：\n" +
             "1.识别comment如果没有备注出数据或word，则出正本，正本要求则客户名称要有录入，不能留白。\n" +
@@ -57,4 +60,17 @@ public class SgsFileInfo {
     /** 样品类型 */
     private String sampleType;
 
+    /**
+     * 拼接提交给大模型审核的用户内容
+     */
+    public String toUserContent() {
+        return "客户名称：" + customerName + "\n"
+                + "客户地址：" + customerAddress + "\n"
+                + "样品名称：" + sampleName + "\n"
+                + "型号：" + modelNumber + "\n"
+                + "料号：" + materialNumber + "\n"
+                + "客户参考信息：" + customerReference + "\n"
+                + "样品类型：" + sampleType;
+    }
+
 }
@@ -0,0 +1,32 @@
+package com.sgs.busi.model;
+
+import lombok.Getter;
+
+/**
+ * SGS文件解析选项
+ */
+@Getter
+public class SgsParseOptions {
+
+    /** 默认选项：PDF一次性提取全文，Word使用POI对象模型 */
+    public static final SgsParseOptions DEFAULT = new SgsParseOptions(0, false);
+
+    /** PDF逐页提取的最大页数，字段全部识别后提前结束；小于等于0时一次性提取全文 */
+    private final int maxPdfPages;
+
+    /** Word是否使用StAX直接流式读取 word/document.xml，不构建POI对象模型 */
+    private final boolean docxStreaming;
+
+    public SgsParseOptions(int maxPdfPages, boolean docxStreaming) {
+        this.maxPdfPages = maxPdfPages;
+        this.docxStreaming = docxStreaming;
+    }
+
+    /**
+     * 选项标识，用于区分不同选项下的解析缓存
+     */
+    public String cacheKey() {
+        return "p" + maxPdfPages + (docxStreaming ? "s" : "");
+    }
+
+}
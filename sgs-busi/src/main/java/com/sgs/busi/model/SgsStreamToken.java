@@ -0,0 +1,28 @@
+package com.sgs.busi.model;
+
+import lombok.Getter;
+
+/**
+ * 流式审核输出片段
+ */
+@Getter
+public class SgsStreamToken {
+
+    /** 片段类型：推理过程 */
+    public static final String REASONING = "reasoning";
+
+    /** 片段类型：审核结论 */
+    public static final String CONTENT = "content";
+
+    /** 片段类型 */
+    private final String type;
+
+    /** 片段文本 */
+    private final String text;
+
+    public SgsStreamToken(String type, String text) {
+        this.type = type;
+        this.text = text;
+    }
+
+}
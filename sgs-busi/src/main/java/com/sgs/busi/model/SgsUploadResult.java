@@ -0,0 +1,20 @@
+package com.sgs.busi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 上传解析结果
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SgsUploadResult {
+
+    /** 解析后的SGS文件信息 */
+    private SgsFileInfo fileInfo;
+
+    /** 文件保存后的完整路径，未要求保存时为空；保存为异步进行，返回时文件可能尚未写完 */
+    private String filePath;
+}
@@ -0,0 +1,26 @@
+package com.sgs.busi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * ZIP条目解析结果，对应NDJSON响应中的一行
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SgsZipEntryResult {
+
+    /** 条目在压缩包中的序号，从0开始；结果按完成顺序输出，需按序号还原 */
+    private int index;
+
+    /** 条目名称 */
+    private String name;
+
+    /** 解析后的SGS文件信息，失败时为空 */
+    private SgsFileInfo fileInfo;
+
+    /** 失败原因，成功时为空 */
+    private String error;
+}
@@ -0,0 +1,293 @@
+package com.sgs.busi.pipeline;
+
+import com.alibaba.fastjson2.JSON;
+import com.sgs.busi.cache.SgsParseCache;
+import com.sgs.busi.cache.SgsVerdictCache;
+import com.sgs.busi.constant.BusiConstants;
+import com.sgs.busi.domain.BusiSgsJob;
+import com.sgs.busi.domain.BusiSgsResult;
+import com.sgs.busi.mapper.BusiSgsJobMapper;
+import com.sgs.busi.llm.LlmPriority;
+import com.sgs.busi.llm.LlmResponse;
+import com.sgs.busi.llm.LlmRouter;
+import com.sgs.busi.model.SgsField;
+import com.sgs.busi.model.SgsFileInfo;
+import com.sgs.busi.rule.SgsPromptBuilder;
+import com.sgs.busi.rule.SgsRuleEngine;
+import com.sgs.busi.routing.SgsModelRoutingPolicy;
+import com.sgs.busi.routing.SgsRouteDecision;
+import com.sgs.busi.rule.SgsRuleReport;
+import com.sgs.common.utils.StringUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * SGS报告审核流水线：解析 -> 规则校验 -> 大模型审核
+ * <p>
+ * 每个阶段完成后立即把状态写回任务表，再交给下一阶段的线程池。
+ * 本地规则已能确定不合规时直接给出结论，不再调用大模型。
+ * 任务表中的状态即检查点：服务重启后补偿调度会重新投递未完成的任务，按状态从中断的阶段继续，已完成的阶段不再重复执行。
+ */
+@Slf4j
+@Component
+public class SgsCheckPipeline {
+
+    @Autowired
+    private BusiSgsJobMapper jobMapper;
+
+    @Autowired
+    private SgsParseCache sgsParseCache;
+
+    @Autowired
+    private SgsVerdictCache sgsVerdictCache;
+
+    @Autowired
+    private SgsRuleEngine sgsRuleEngine;
+
+    @Autowired
+    private LlmRouter llmRouter;
+
+    @Autowired
+    private SgsModelRoutingPolicy routingPolicy;
+
+    @Autowired
+    private SgsResultWriter resultWriter;
+
+    @Autowired
+    @Qualifier("sgsParseExecutor")
+    private ThreadPoolTaskExecutor parseExecutor;
+
+    @Autowired
+    @Qualifier("sgsRuleExecutor")
+    private ThreadPoolTaskExecutor ruleExecutor;
+
+    @Autowired
+    @Qualifier("sgsLlmExecutor")
+    private ThreadPoolTaskExecutor llmExecutor;
+
+    /** 已投递到流水线、尚未结束的任务，防止补偿调度重复投递 */
+    private final Set<Long> inflight = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 投递任务到流水线，由解析线程按任务状态决定从哪个阶段开始
+     *
+     * @param job 任务
+     * @return 是否投递成功，解析队列已满时返回false，任务保持原状态
+     */
+    public boolean dispatch(BusiSgsJob job) {
+        if (!inflight.add(job.getJobId())) {
+            return true;
+        }
+        try {
+            parseExecutor.execute(() -> resume(job));
+            return true;
+        } catch (TaskRejectedException e) {
+            inflight.remove(job.getJobId());
+            return false;
+        }
+    }
+
+    /**
+     * 是否仍在流水线中处理
+     */
+    public boolean isInflight(Long jobId) {
+        return inflight.contains(jobId);
+    }
+
+    /**
+     * 从中断处继续：已解析的任务直接使用保存的解析结果，已校验的任务直接进入大模型阶段。
+     * 下一阶段线程池拒绝时任务保持原状态移出流水线，由补偿调度稍后重新投递；其他异常按失败处理
+     */
+    private void resume(BusiSgsJob job) {
+        try {
+            doResume(job);
+        } catch (TaskRejectedException e) {
+            log.warn("SGS审核任务[{}]续跑被拒绝，等待重新投递：{}", job.getJobId(), e.getMessage());
+            inflight.remove(job.getJobId());
+        } catch (Throwable e) {
+            fail(job, "审核流程异常：" + e.getMessage());
+        }
+    }
+
+    private void doResume(BusiSgsJob job) {
+        SgsFileInfo sgsFileInfo = null;
+        if (!BusiConstants.JOB_PENDING.equals(job.getStatus()) && StringUtils.isNotEmpty(job.getParseResult())) {
+            try {
+                sgsFileInfo = JSON.parseObject(job.getParseResult(), SgsFileInfo.class);
+            } catch (Exception e) {
+                log.warn("SGS审核任务[{}]解析结果无法还原，重新解析：{}", job.getJobId(), e.getMessage());
+            }
+        }
+        if (sgsFileInfo == null) {
+            parse(job);
+            return;
+        }
+        SgsFileInfo resumed = sgsFileInfo;
+        if (BusiConstants.JOB_RULED.equals(job.getStatus())) {
+            llmExecutor.execute(() -> check(job, resumed));
+        } else {
+            ruleExecutor.execute(() -> rule(job, resumed));
+        }
+    }
+
+    private void parse(BusiSgsJob job) {
+        SgsFileInfo sgsFileInfo;
+        try {
+            sgsFileInfo = sgsParseCache.parse(job.getFilePath());
+        } catch (Throwable e) {
+            fail(job, "文件解析失败：" + e.getMessage());
+            return;
+        }
+        try {
+            BusiSgsJob update = newUpdate(job, BusiConstants.JOB_PARSED);
+            update.setParseResult(JSON.toJSONString(sgsFileInfo));
+            jobMapper.updateJob(update);
+            ruleExecutor.execute(() -> rule(job, sgsFileInfo));
+        } catch (Throwable e) {
+            fail(job, "审核流程异常：" + e.getMessage());
+        }
+    }
+
+    private void rule(BusiSgsJob job, SgsFileInfo sgsFileInfo) {
+        try {
+            doRule(job, sgsFileInfo);
+        } catch (Throwable e) {
+            fail(job, "审核流程异常：" + e.getMessage());
+        }
+    }
+
+    private void doRule(BusiSgsJob job, SgsFileInfo sgsFileInfo) {
+        List<String> missing = new ArrayList<>();
+        for (SgsField field : SgsField.values()) {
+            if (SgsRuleEngine.isEmptyValue(field.get(sgsFileInfo))) {
+                missing.add(field.getLabel());
+            }
+        }
+        if (missing.size() == SgsField.values().length) {
+            fail(job, "未识别到报告字段");
+            return;
+        }
+        SgsRuleReport report = sgsRuleEngine.check(sgsFileInfo);
+        if (report.isConclusive()) {
+            String violations = String.join("\n", report.getViolations());
+            BusiSgsJob update = newUpdate(job, BusiConstants.JOB_CHECKED);
+            update.setRuleResult(violations);
+            update.setVerdict(report.toVerdict());
+            jobMapper.updateJob(update);
+            BusiSgsResult result = new BusiSgsResult();
+            result.setSource(BusiConstants.RESULT_SOURCE_RULE);
+            result.setVerdict(update.getVerdict());
+            result.setViolations(violations);
+            resultWriter.submit(sgsFileInfo, job.getFilePath(), result);
+            inflight.remove(job.getJobId());
+            return;
+        }
+        BusiSgsJob update = newUpdate(job, BusiConstants.JOB_RULED);
+        update.setRuleResult(missing.isEmpty() ? "" : "缺少字段：" + String.join(",", missing));
+        jobMapper.updateJob(update);
+        llmExecutor.execute(() -> check(job, sgsFileInfo));
+    }
+
+    private void check(BusiSgsJob job, SgsFileInfo sgsFileInfo) {
+        try {
+            doCheck(job, sgsFileInfo);
+        } catch (Throwable e) {
+            fail(job, "审核流程异常：" + e.getMessage());
+        }
+    }
+
+    private void doCheck(BusiSgsJob job, SgsFileInfo sgsFileInfo) {
+        SgsRuleReport report = sgsRuleEngine.check(sgsFileInfo);
+        String userContent = SgsPromptBuilder.buildUserContent(sgsFileInfo, report);
+        SgsRouteDecision decision = routingPolicy.route(sgsFileInfo, report);
+        String model = decision.getModel();
+        BusiSgsResult result = new BusiSgsResult();
+        // 本任务实际调用大模型得到的回答，结论落库后再交给路由策略统计
+        LlmResponse answered = null;
+        String verdict = sgsVerdictCache.getIfPresent(model, SgsPromptBuilder.SYSTEM_CONTENT, userContent);
+        if (verdict != null) {
+            result.setSource(BusiConstants.RESULT_SOURCE_CACHE);
+            result.setModel(model);
+        } else {
+            LlmResponse response;
+            AtomicBoolean called = new AtomicBoolean();
+            try {
+                log.debug("SGS审核任务[{}]路由到[{}]：{}", job.getJobId(), decision.getProvider(), decision.getReason());
+                // 相同内容的并发任务只调用一次大模型
+                response = sgsVerdictCache.loadOnce(model, SgsPromptBuilder.SYSTEM_CONTENT, userContent, () -> {
+                    called.set(true);
+                    LlmResponse answer = llmRouter.chat(SgsPromptBuilder.SYSTEM_CONTENT, userContent, LlmPriority.LOW, decision.getProvider());
+                    // 对冲或故障切换时由其他模型作答，按实际模型缓存
+                    sgsVerdictCache.put(answer.getModel(), SgsPromptBuilder.SYSTEM_CONTENT, userContent, answer.getContent());
+                    return answer;
+                });
+            } catch (TaskRejectedException e) {
+                // 调用线程池已满是暂时的，任务保持已校验状态移出流水线，由补偿调度重新投递
+                log.warn("SGS审核任务[{}]大模型调用被拒绝，等待重新投递：{}", job.getJobId(), e.getMessage());
+                inflight.remove(job.getJobId());
+                return;
+            } catch (Exception e) {
+                fail(job, "大模型审核失败：" + e.getMessage());
+                return;
+            }
+            verdict = response.getContent();
+            result.setModel(response.getModel());
+            if (called.get()) {
+                answered = response;
+                result.setSource(BusiConstants.RESULT_SOURCE_LLM);
+                result.setLatencyMs(response.getLatencyMillis());
+                result.setInputTokens(response.getInputTokens());
+                result.setOutputTokens(response.getOutputTokens());
+            } else {
+                // 共享了其他任务的调用结果，不重复计入耗时与用量
+                result.setSource(BusiConstants.RESULT_SOURCE_CACHE);
+            }
+        }
+        BusiSgsJob update = newUpdate(job, BusiConstants.JOB_CHECKED);
+        update.setVerdict(verdict);
+        jobMapper.updateJob(update);
+        result.setVerdict(verdict);
+        resultWriter.submit(sgsFileInfo, job.getFilePath(), result);
+        inflight.remove(job.getJobId());
+        if (answered != null) {
+            try {
+                routingPolicy.recordOutcome(sgsFileInfo, decision, SgsPromptBuilder.SYSTEM_CONTENT, userContent, answered);
+            } catch (Exception e) {
+                log.warn("SGS审核任务[{}]记录路由结果失败：{}", job.getJobId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 任务失败：写入失败状态并移出流水线；状态写入失败时任务保持原状态，由补偿调度重新投递
+     */
+    private void fail(BusiSgsJob job, String errorMsg) {
+        log.warn("SGS审核任务[{}]失败：{}", job.getJobId(), errorMsg);
+        try {
+            BusiSgsJob update = newUpdate(job, BusiConstants.JOB_FAILED);
+            update.setErrorMsg(StringUtils.substring(errorMsg, 0, BusiConstants.ERROR_MSG_MAX_LENGTH));
+            jobMapper.updateJob(update);
+        } catch (Throwable e) {
+            log.error("SGS审核任务[{}]写入失败状态异常：{}", job.getJobId(), e.getMessage());
+        } finally {
+            inflight.remove(job.getJobId());
+        }
+    }
+
+    private static BusiSgsJob newUpdate(BusiSgsJob job, String status) {
+        BusiSgsJob update = new BusiSgsJob();
+        update.setJobId(job.getJobId());
+        update.setStatus(status);
+        return update;
+    }
+}
@@ -0,0 +1,124 @@
+package com.sgs.busi.pipeline;
+
+import com.sgs.busi.domain.BusiSgsResult;
+import com.sgs.busi.mapper.BusiSgsResultMapper;
+import com.sgs.busi.model.SgsFileInfo;
+import com.sgs.common.utils.DateUtils;
+import com.sgs.common.utils.StringUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 审核结果异步批量写入
+ * <p>
+ * 结果先进入有界队列，由定时任务按批插入，审核线程不等待数据库。队列满时退化为调用线程直接写入，不丢结果。
+ * 文本字段按表结构截断；整批写入失败时逐条重试，单条数据异常不会连带同批其他结果，逐条仍失败的结果记录错误日志。
+ */
+@Slf4j
+@Component
+public class SgsResultWriter {
+
+    /** 单次插入最大条数 */
+    @Value("${busi.result.batchSize:200}")
+    private int batchSize;
+
+    /** 刷新间隔（毫秒） */
+    @Value("${busi.result.flushMillis:1000}")
+    private int flushMillis;
+
+    /** 队列长度 */
+    @Value("${busi.result.queueCapacity:10000}")
+    private int queueCapacity;
+
+    @Autowired
+    private BusiSgsResultMapper resultMapper;
+
+    @Autowired
+    @Qualifier("scheduledExecutorService")
+    private ScheduledExecutorService scheduledExecutorService;
+
+    private BlockingQueue<BusiSgsResult> queue;
+
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        scheduledExecutorService.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 关闭前写入剩余结果
+     */
+    @PreDestroy
+    public void destroy() {
+        flush();
+    }
+
+    /**
+     * 提交审核结果
+     *
+     * @param sgsFileInfo 解析后的文件信息
+     * @param filePath    文件路径，可为空
+     * @param result      审核结论，需填写来源、模型、结论等字段
+     */
+    public void submit(SgsFileInfo sgsFileInfo, String filePath, BusiSgsResult result) {
+        result.setFileHash(sgsFileInfo.getFileHash());
+        result.setFilePath(truncate(filePath, 500));
+        result.setCustomerName(truncate(sgsFileInfo.getCustomerName(), 255));
+        result.setCustomerAddress(truncate(sgsFileInfo.getCustomerAddress(), 500));
+        result.setSampleName(truncate(sgsFileInfo.getSampleName(), 255));
+        result.setModelNumber(truncate(sgsFileInfo.getModelNumber(), 255));
+        result.setMaterialNumber(truncate(sgsFileInfo.getMaterialNumber(), 255));
+        result.setCustomerReference(truncate(sgsFileInfo.getCustomerReference(), 500));
+        result.setSampleType(truncate(sgsFileInfo.getSampleType(), 255));
+        result.setModel(truncate(result.getModel(), 64));
+        result.setViolations(truncate(result.getViolations(), 2000));
+        result.setCreateTime(DateUtils.getNowDate());
+        if (!queue.offer(result)) {
+            insert(List.of(result));
+        }
+    }
+
+    private void flush() {
+        List<BusiSgsResult> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            insert(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    private void insert(List<BusiSgsResult> batch) {
+        try {
+            resultMapper.batchInsertResult(batch);
+            return;
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                log.error("写入审核结果失败，文件[{}]", batch.get(0).getFileHash(), e);
+                return;
+            }
+            log.warn("批量写入{}条审核结果失败，改为逐条写入：{}", batch.size(), e.getMessage());
+        }
+        for (BusiSgsResult result : batch) {
+            try {
+                resultMapper.batchInsertResult(List.of(result));
+            } catch (Exception e) {
+                log.error("写入审核结果失败，文件[{}]", result.getFileHash(), e);
+            }
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return StringUtils.substring(value, 0, maxLength);
+    }
+}
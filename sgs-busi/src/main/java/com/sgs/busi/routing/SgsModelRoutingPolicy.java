@@ -0,0 +1,236 @@
+package com.sgs.busi.routing;
+
+import com.sgs.busi.llm.LlmPriority;
+import com.sgs.busi.llm.LlmResponse;
+import com.sgs.busi.llm.LlmRouter;
+import com.sgs.busi.model.SgsFileInfo;
+import com.sgs.busi.rule.SgsRuleReport;
+import com.sgs.common.utils.StringUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 按难度选择审核模型
+ * <p>
+ * 难度得分 = 本地规则发现疑点的字段数 × 字段权重 + 客户名称/地址语种混杂 × 语种权重 + 该客户历史分歧率 × 分歧权重，
+ * 达到阈值的报告交给推理模型，其余交给快速模型。推理模型近期P95超过其SLA时降级为快速模型。
+ * 语义占位规则对每份报告都无法判定，只计入带疑点的字段，确定违规的报告已由本地规则直接出结论，不会走到路由。
+ * <p>
+ * 分歧率来自抽样复核：按比例把快速模型已审核的报告在后台再交给推理模型，两者合规结论不一致即记一次分歧。
+ * 复核在独立的小线程池中执行，池满时直接丢弃，不占用正式调用与对冲请求的线程和队列。
+ * 统计保存在进程内，按客户名称LRU淘汰，服务重启后重新积累。
+ */
+@Slf4j
+@Component
+public class SgsModelRoutingPolicy {
+
+    /** 是否启用按难度路由，关闭时始终使用主服务商 */
+    @Value("${busi.llm.routing.enabled:true}")
+    private boolean enabled;
+
+    /** 快速模型服务商 */
+    @Value("${busi.llm.routing.fastProvider:dashscope}")
+    private String fastProvider;
+
+    /** 推理模型服务商 */
+    @Value("${busi.llm.routing.reasoningProvider:volcengine}")
+    private String reasoningProvider;
+
+    /** 每个有疑点字段的权重 */
+    @Value("${busi.llm.routing.ambiguousWeight:1}")
+    private double ambiguousWeight;
+
+    /** 语种混杂的权重 */
+    @Value("${busi.llm.routing.languageWeight:2}")
+    private double languageWeight;
+
+    /** 客户历史分歧率的权重 */
+    @Value("${busi.llm.routing.disagreementWeight:4}")
+    private double disagreementWeight;
+
+    /** 使用推理模型的得分阈值 */
+    @Value("${busi.llm.routing.threshold:3}")
+    private double threshold;
+
+    /** 快速模型P95耗时SLA（毫秒） */
+    @Value("${busi.llm.routing.fastSlaMs:15000}")
+    private long fastSlaMs;
+
+    /** 推理模型P95耗时SLA（毫秒），超过时降级为快速模型 */
+    @Value("${busi.llm.routing.reasoningSlaMs:90000}")
+    private long reasoningSlaMs;
+
+    /** 快速模型结论抽样复核比例 */
+    @Value("${busi.llm.routing.shadowRate:0.05}")
+    private double shadowRate;
+
+    /** 分歧率生效所需的最少复核次数 */
+    @Value("${busi.llm.routing.minSamples:5}")
+    private int minSamples;
+
+    /** 最多保留统计的客户数 */
+    @Value("${busi.llm.routing.maxCustomers:10000}")
+    private int maxCustomers;
+
+    @Autowired
+    private LlmRouter llmRouter;
+
+    @Autowired
+    @Qualifier("llmShadowExecutor")
+    private ThreadPoolTaskExecutor llmShadowExecutor;
+
+    /** 否定"不合规"的表述，判断结论前先去除 */
+    private static final String[] NEGATED_VIOLATIONS = { "无不合规", "没有不合规", "未发现不合规", "不存在不合规", "未见不合规" };
+
+    /** 客户名称 -> {复核次数, 分歧次数} */
+    private final Map<String, long[]> customerStats = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, long[]> eldest) {
+            return size() > maxCustomers;
+        }
+    };
+
+    /**
+     * 选择审核模型
+     *
+     * @param sgsFileInfo 文件信息
+     * @param report      本地规则校验汇总
+     * @return 路由决策
+     */
+    public SgsRouteDecision route(SgsFileInfo sgsFileInfo, SgsRuleReport report) {
+        if (!enabled) {
+            return decision(fastProvider, 0, "未启用路由");
+        }
+        int ambiguous = report.getHintFieldCount();
+        boolean mixedLanguage = isMixedLanguage(sgsFileInfo.getCustomerName(), sgsFileInfo.getCustomerAddress());
+        double disagreement = disagreementRate(sgsFileInfo.getCustomerName());
+        double score = ambiguous * ambiguousWeight + (mixedLanguage ? languageWeight : 0) + disagreement * disagreementWeight;
+        String reason = StringUtils.format("疑点字段{}个，语种混杂{}，历史分歧率{}", ambiguous, mixedLanguage, disagreement);
+        if (score < threshold) {
+            return decision(fastProvider, score, reason);
+        }
+        long reasoningP95 = llmRouter.getLatencyPercentile(reasoningProvider, 0.95);
+        long fastP95 = llmRouter.getLatencyPercentile(fastProvider, 0.95);
+        if (reasoningP95 > reasoningSlaMs && fastP95 <= fastSlaMs) {
+            return decision(fastProvider, score, reason + "，推理模型P95 " + reasoningP95 + "ms 超过SLA，降级");
+        }
+        return decision(reasoningProvider, score, reason);
+    }
+
+    /**
+     * 记录审核结果；快速模型的结论按比例在后台交给推理模型复核，用于统计客户分歧率
+     *
+     * @param sgsFileInfo   文件信息
+     * @param decision      路由决策
+     * @param systemContent 系统内容
+     * @param userContent   用户内容
+     * @param response      实际回答
+     */
+    public void recordOutcome(SgsFileInfo sgsFileInfo, SgsRouteDecision decision, String systemContent, String userContent,
+            LlmResponse response) {
+        if (!enabled || !fastProvider.equals(response.getProvider()) || StringUtils.isBlank(sgsFileInfo.getCustomerName())
+                || ThreadLocalRandom.current().nextDouble() >= shadowRate) {
+            return;
+        }
+        String customerName = sgsFileInfo.getCustomerName().trim();
+        boolean fastCompliant = isCompliant(response.getContent());
+        try {
+            llmShadowExecutor.execute(() -> shadow(customerName, fastCompliant, decision, systemContent, userContent));
+        } catch (RuntimeException e) {
+            log.debug("抽样复核未能提交：{}", e.getMessage());
+        }
+    }
+
+    private void shadow(String customerName, boolean fastCompliant, SgsRouteDecision decision, String systemContent, String userContent) {
+        try {
+            LlmResponse shadow = llmRouter.chatWith(reasoningProvider, systemContent, userContent, LlmPriority.LOW);
+            boolean disagree = isCompliant(shadow.getContent()) != fastCompliant;
+            synchronized (customerStats) {
+                long[] stats = customerStats.computeIfAbsent(customerName, k -> new long[2]);
+                stats[0]++;
+                if (disagree) {
+                    stats[1]++;
+                }
+            }
+            log.debug("客户[{}]抽样复核，路由得分{}，结论{}", customerName, decision.getScore(), disagree ? "不一致" : "一致");
+        } catch (Exception e) {
+            log.warn("抽样复核失败：{}", e.getMessage());
+        }
+    }
+
+    private SgsRouteDecision decision(String provider, double score, String reason) {
+        return new SgsRouteDecision(provider, llmRouter.getModel(provider), score, reason);
+    }
+
+    private double disagreementRate(String customerName) {
+        if (StringUtils.isBlank(customerName)) {
+            return 0;
+        }
+        synchronized (customerStats) {
+            long[] stats = customerStats.get(customerName.trim());
+            if (stats == null || stats[0] < minSamples) {
+                return 0;
+            }
+            return (double) stats[1] / stats[0];
+        }
+    }
+
+    /**
+     * 合规结论粗分：去除"无不合规项"等否定表述后，回答中仍出现"不合规"即视为不合规
+     */
+    private static boolean isCompliant(String verdict) {
+        if (verdict == null) {
+            return true;
+        }
+        String text = verdict;
+        for (String negated : NEGATED_VIOLATIONS) {
+            text = text.replace(negated, "");
+        }
+        return !text.contains("不合规");
+    }
+
+    /**
+     * 客户名称与地址语种不一致，或单个字段中同时出现中文与成段英文
+     */
+    private static boolean isMixedLanguage(String customerName, String customerAddress) {
+        int nameScript = script(customerName);
+        int addressScript = script(customerAddress);
+        if (nameScript == 3 || addressScript == 3) {
+            return true;
+        }
+        return nameScript != 0 && addressScript != 0 && nameScript != addressScript;
+    }
+
+    /**
+     * 文字类型：0 无法判断，1 中文，2 英文，3 中英混杂
+     */
+    private static int script(String value) {
+        if (StringUtils.isBlank(value)) {
+            return 0;
+        }
+        boolean cjk = false;
+        int latin = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.UnicodeScript.of(c) == Character.UnicodeScript.HAN) {
+                cjk = true;
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                latin++;
+            }
+        }
+        // 少量字母常见于中文名称中的品牌缩写，不视为混杂
+        boolean english = latin >= 6;
+        if (cjk && english) {
+            return 3;
+        }
+        return cjk ? 1 : (latin > 0 ? 2 : 0);
+    }
+}
@@ -0,0 +1,24 @@
+package com.sgs.busi.routing;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 模型路由决策
+ */
+@Getter
+@AllArgsConstructor
+public class SgsRouteDecision {
+
+    /** 优先调用的服务商名称 */
+    private final String provider;
+
+    /** 对应的模型名称 */
+    private final String model;
+
+    /** 难度得分 */
+    private final double score;
+
+    /** 决策原因，便于排查 */
+    private final String reason;
+}
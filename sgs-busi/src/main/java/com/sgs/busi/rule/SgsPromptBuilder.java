@@ -0,0 +1,77 @@
+package com.sgs.busi.rule;
+
+import com.sgs.busi.model.SgsField;
+import com.sgs.busi.model.SgsFileInfo;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 大模型审核提示词构建
+ * <p>
+ * 系统提示词为固定常量，所有请求完全一致，便于服务商前缀缓存命中；用户内容只包含本地规则无法判定或判定不合规的字段，
+ * 以及判断这些字段所需的关联字段，每行一个 "字段名=值"，空值留空；本地规则发现的疑点以 "提示：" 开头附在字段之后。
+ */
+public class SgsPromptBuilder {
+
+    /** 系统提示词：规则原文加提交格式说明，不得拼接任何与单份报告相关的内容 */
+    public static final String SYSTEM_CONTENT = SgsFileInfo.SYSTEM_CONTENT +
+            "提交格式：\n" +
+            "每行一个字段，格式为\"字段名=值\"，值为空表示未录入。只提交需要审核的字段及其关联字段，未提交的字段已通过校验，无需评价。\n" +
+            "以\"提示：\"开头的行是本地规则发现的疑点，仅供参考，请按上述规则自行判断是否合规。\n";
+
+    /** 审核某字段时需要一并提交的关联字段 */
+    private static final Map<SgsField, Set<SgsField>> CONTEXT = new EnumMap<>(SgsField.class);
+
+    static {
+        // 名称与地址需一一对应、语种一致
+        CONTEXT.put(SgsField.CUSTOMER_NAME, EnumSet.of(SgsField.CUSTOMER_ADDRESS));
+        CONTEXT.put(SgsField.CUSTOMER_ADDRESS, EnumSet.of(SgsField.CUSTOMER_NAME));
+        // 原材料与成品名称需结合样品类型判断
+        CONTEXT.put(SgsField.SAMPLE_NAME, EnumSet.of(SgsField.SAMPLE_TYPE));
+        // 客户参考信息需与送测样品相关
+        CONTEXT.put(SgsField.CUSTOMER_REFERENCE, EnumSet.of(SgsField.SAMPLE_NAME));
+    }
+
+    private SgsPromptBuilder() {
+    }
+
+    /**
+     * 构建用户内容
+     *
+     * @param sgsFileInfo 文件信息
+     * @param report      本地规则校验汇总
+     * @return 用户内容。客户地址语种等规则只能由大模型判断，本地规则无法证明整份报告合规，因此总会返回内容；
+     *         规则配置变化导致所有字段均通过时提交全部字段
+     */
+    public static String buildUserContent(SgsFileInfo sgsFileInfo, SgsRuleReport report) {
+        Set<SgsField> fields = EnumSet.noneOf(SgsField.class);
+        for (SgsField field : SgsField.values()) {
+            if (report.hasRules(field) && report.getStatus(field) != SgsRuleResult.Status.PASS) {
+                fields.add(field);
+            }
+        }
+        if (fields.isEmpty()) {
+            fields.addAll(EnumSet.allOf(SgsField.class));
+        }
+        for (SgsField field : EnumSet.copyOf(fields)) {
+            fields.addAll(CONTEXT.getOrDefault(field, EnumSet.noneOf(SgsField.class)));
+        }
+        StringBuilder sb = new StringBuilder();
+        for (SgsField field : fields) {
+            String value = field.get(sgsFileInfo);
+            sb.append(field.getLabel()).append('=');
+            if (!SgsRuleEngine.isEmptyValue(value)) {
+                sb.append(value.trim().replace('\n', ' '));
+            }
+            sb.append('\n');
+        }
+        for (String hint : report.getHints()) {
+            sb.append("提示：").append(hint).append('\n');
+        }
+        sb.setLength(sb.length() - 1);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,27 @@
+package com.sgs.busi.rule;
+
+import com.sgs.busi.model.SgsField;
+import com.sgs.busi.model.SgsFileInfo;
+
+/**
+ * SGS报告本地校验规则
+ * <p>
+ * 实现类注册为Spring组件即可被 {@link SgsRuleEngine} 自动加载。规则只处理能够机械判定的情形，
+ * 无法判定时返回 {@link SgsRuleResult#undecided()}，交由大模型审核。
+ */
+public interface SgsRule {
+
+    /**
+     * 规则校验的字段
+     */
+    public SgsField getField();
+
+    /**
+     * 校验字段值
+     *
+     * @param value       字段值，未识别时为null
+     * @param sgsFileInfo 完整的文件信息
+     * @return 校验结果
+     */
+    public SgsRuleResult check(String value, SgsFileInfo sgsFileInfo);
+}
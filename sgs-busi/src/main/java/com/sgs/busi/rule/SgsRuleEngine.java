@@ -0,0 +1,45 @@
+package com.sgs.busi.rule;
+
+import com.sgs.busi.model.SgsField;
+import com.sgs.busi.model.SgsFileInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 本地规则引擎
+ * <p>
+ * 依次执行全部 {@link SgsRule}，规则为纯内存判断，单份报告耗时在微秒级。
+ */
+@Component
+public class SgsRuleEngine {
+
+    @Autowired(required = false)
+    private List<SgsRule> rules;
+
+    /**
+     * 校验报告
+     *
+     * @param sgsFileInfo 文件信息
+     * @return 校验汇总
+     */
+    public SgsRuleReport check(SgsFileInfo sgsFileInfo) {
+        SgsRuleReport report = new SgsRuleReport();
+        if (rules == null) {
+            return report;
+        }
+        for (SgsRule rule : rules) {
+            SgsField field = rule.getField();
+            report.merge(field, rule.check(field.get(sgsFileInfo), sgsFileInfo));
+        }
+        return report;
+    }
+
+    /**
+     * 字段值是否为空，未识别、空白或 "null" 均视为空
+     */
+    public static boolean isEmptyValue(String value) {
+        return value == null || value.isBlank() || "null".equalsIgnoreCase(value.trim());
+    }
+}
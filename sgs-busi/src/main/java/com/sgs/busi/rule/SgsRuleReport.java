@@ -0,0 +1,86 @@
+package com.sgs.busi.rule;
+
+import com.sgs.busi.model.SgsField;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 一份报告的本地规则校验汇总
+ */
+public class SgsRuleReport {
+
+    /** 每个字段的汇总状态：任一规则不合规即为不合规，否则任一规则无法判定即为无法判定；没有规则的字段为无法判定 */
+    private final Map<SgsField, SgsRuleResult.Status> fieldStatus = new EnumMap<>(SgsField.class);
+
+    /** 不合规说明 */
+    private final List<String> violations = new ArrayList<>();
+
+    /** 无法判定字段的疑点，只作为大模型的参考 */
+    private final List<String> hints = new ArrayList<>();
+
+    /** 有疑点的字段 */
+    private final Set<SgsField> hintFields = EnumSet.noneOf(SgsField.class);
+
+    void merge(SgsField field, SgsRuleResult result) {
+        SgsRuleResult.Status current = fieldStatus.get(field);
+        if (current == null || result.getStatus().compareTo(current) > 0) {
+            fieldStatus.put(field, result.getStatus());
+        }
+        if (result.getStatus() == SgsRuleResult.Status.FAIL) {
+            violations.add(field.getLabel() + "：" + result.getMessage());
+        } else if (result.getStatus() == SgsRuleResult.Status.UNDECIDED && result.getMessage() != null) {
+            hints.add(field.getLabel() + "：" + result.getMessage());
+            hintFields.add(field);
+        }
+    }
+
+    /**
+     * 是否已能得出结论：存在确定的违规项时报告即不合规，无需再调用大模型
+     */
+    public boolean isConclusive() {
+        return !violations.isEmpty();
+    }
+
+    /**
+     * 字段是否有本地规则，没有规则的字段只作为其他字段的判断依据
+     */
+    public boolean hasRules(SgsField field) {
+        return fieldStatus.containsKey(field);
+    }
+
+    public SgsRuleResult.Status getStatus(SgsField field) {
+        return fieldStatus.getOrDefault(field, SgsRuleResult.Status.UNDECIDED);
+    }
+
+    public List<String> getViolations() {
+        return Collections.unmodifiableList(violations);
+    }
+
+    /**
+     * 有疑点的字段数；只由占位规则或无疑点的规则得出无法判定的字段不计入，这类字段几乎每份报告都有，不能反映难度
+     */
+    public int getHintFieldCount() {
+        return hintFields.size();
+    }
+
+    public List<String> getHints() {
+        return Collections.unmodifiableList(hints);
+    }
+
+    /**
+     * 生成审核结论文本
+     */
+    public String toVerdict() {
+        StringBuilder sb = new StringBuilder("根据本地规则校验，以下内容不合规：\n");
+        for (int i = 0; i < violations.size(); i++) {
+            sb.append(i + 1).append(". ").append(violations.get(i)).append("\n");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,59 @@
+package com.sgs.busi.rule;
+
+/**
+ * 单条规则的校验结果
+ */
+public class SgsRuleResult {
+
+    /**
+     * 校验状态，按严重程度升序排列
+     */
+    public enum Status {
+        /** 合规 */
+        PASS,
+        /** 无法判定 */
+        UNDECIDED,
+        /** 不合规 */
+        FAIL
+    }
+
+    private static final SgsRuleResult PASS = new SgsRuleResult(Status.PASS, null);
+
+    private static final SgsRuleResult UNDECIDED = new SgsRuleResult(Status.UNDECIDED, null);
+
+    private final Status status;
+
+    private final String message;
+
+    private SgsRuleResult(Status status, String message) {
+        this.status = status;
+        this.message = message;
+    }
+
+    public static SgsRuleResult pass() {
+        return PASS;
+    }
+
+    public static SgsRuleResult undecided() {
+        return UNDECIDED;
+    }
+
+    /**
+     * 无法判定但发现疑点，疑点随字段一并提交给大模型参考
+     */
+    public static SgsRuleResult undecided(String hint) {
+        return new SgsRuleResult(Status.UNDECIDED, hint);
+    }
+
+    public static SgsRuleResult fail(String message) {
+        return new SgsRuleResult(Status.FAIL, message);
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
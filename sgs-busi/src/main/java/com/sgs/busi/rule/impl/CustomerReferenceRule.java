@@ -0,0 +1,35 @@
+package com.sgs.busi.rule.impl;
+
+import com.sgs.busi.model.SgsField;
+import com.sgs.busi.model.SgsFileInfo;
+import com.sgs.busi.rule.SgsRule;
+import com.sgs.busi.rule.SgsRuleEngine;
+import com.sgs.busi.rule.SgsRuleResult;
+
+/**
+ * 客户参考信息不得出现型号、规格等字样
+ * <p>
+ * 未填写时合规；是否与送测样品相关、是否含误导性语句等交由大模型。
+ */
+public class CustomerReferenceRule implements SgsRule {
+
+    private static final String[] FORBIDDEN_WORDS = { "型号", "规格" };
+
+    @Override
+    public SgsField getField() {
+        return SgsField.CUSTOMER_REFERENCE;
+    }
+
+    @Override
+    public SgsRuleResult check(String value, SgsFileInfo sgsFileInfo) {
+        if (SgsRuleEngine.isEmptyValue(value)) {
+            return SgsRuleResult.pass();
+        }
+        for (String word : FORBIDDEN_WORDS) {
+            if (value.contains(word)) {
+                return SgsRuleResult.fail("出现“" + word + "”字样");
+            }
+        }
+        return SgsRuleResult.undecided();
+    }
+}
@@ -0,0 +1,35 @@
+package com.sgs.busi.rule.impl;
+
+import com.sgs.busi.model.SgsField;
+import com.sgs.busi.model.SgsFileInfo;
+import com.sgs.busi.rule.SgsRule;
+import com.sgs.busi.rule.SgsRuleResult;
+
+/**
+ * 样品名称不能出现夸张表述
+ * <p>
+ * 夸张词汇在合规品名中同样常见（如 "100%棉"），命中时不直接判定不合规，只作为疑点提示大模型；
+ * 原材料与成品名称、颜色描述是否一致等需要语义判断，交由大模型。
+ */
+public class ExaggerationRule implements SgsRule {
+
+    private static final String[] EXAGGERATION_WORDS = { "最好", "最佳", "最强", "最牛", "最优", "最先进", "第一", "顶级",
+            "极品", "超级", "王牌", "牛逼", "至尊", "绝对", "国家级", "世界级", "全球首", "史上", "独家", "万能", "神奇", "100%" };
+
+    @Override
+    public SgsField getField() {
+        return SgsField.SAMPLE_NAME;
+    }
+
+    @Override
+    public SgsRuleResult check(String value, SgsFileInfo sgsFileInfo) {
+        if (value != null) {
+            for (String word : EXAGGERATION_WORDS) {
+                if (value.contains(word)) {
+                    return SgsRuleResult.undecided("含有“" + word + "”字样，请确认是否为夸张的成品名称");
+                }
+            }
+        }
+        return SgsRuleResult.undecided();
+    }
+}
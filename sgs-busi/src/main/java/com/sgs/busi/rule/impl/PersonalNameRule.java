@@ -0,0 +1,47 @@
+package com.sgs.busi.rule.impl;
+
+import com.sgs.busi.model.SgsField;
+import com.sgs.busi.model.SgsFileInfo;
+import com.sgs.busi.rule.SgsRule;
+import com.sgs.busi.rule.SgsRuleEngine;
+import com.sgs.busi.rule.SgsRuleResult;
+
+import java.util.regex.Pattern;
+
+/**
+ * 客户名称不能以个人名义
+ * <p>
+ * 含有公司、工厂等机构后缀的名称交由大模型继续判断语种与多公司等规则；
+ * 2到4个汉字的名称或以"先生""女士"结尾的名称疑似个人名义，但简称的公司名（如 "华为"）同样符合，只作为疑点提示大模型。
+ */
+public class PersonalNameRule implements SgsRule {
+
+    private static final String[] ORGANIZATION_WORDS = { "公司", "厂", "集团", "中心", "研究所", "研究院", "学院", "大学",
+            "医院", "商行", "经营部", "工作室", "事务所", "店", "银行", "协会", "co.", "ltd", "llc", "inc", "corp",
+            "gmbh", "company", "limited", "factory", "group" };
+
+    private static final Pattern PERSONAL_NAME = Pattern.compile("^[\\u4e00-\\u9fa5·]{2,4}$|.*(先生|女士|小姐)$");
+
+    @Override
+    public SgsField getField() {
+        return SgsField.CUSTOMER_NAME;
+    }
+
+    @Override
+    public SgsRuleResult check(String value, SgsFileInfo sgsFileInfo) {
+        if (SgsRuleEngine.isEmptyValue(value)) {
+            return SgsRuleResult.undecided();
+        }
+        String name = value.trim();
+        String lower = name.toLowerCase();
+        for (String word : ORGANIZATION_WORDS) {
+            if (lower.contains(word)) {
+                return SgsRuleResult.undecided();
+            }
+        }
+        if (PERSONAL_NAME.matcher(name).matches()) {
+            return SgsRuleResult.undecided("疑似以个人名义录入");
+        }
+        return SgsRuleResult.undecided();
+    }
+}
@@ -0,0 +1,34 @@
+package com.sgs.busi.rule.impl;
+
+import com.sgs.busi.model.SgsField;
+import com.sgs.busi.model.SgsFileInfo;
+import com.sgs.busi.rule.SgsRule;
+import com.sgs.busi.rule.SgsRuleEngine;
+import com.sgs.busi.rule.SgsRuleResult;
+
+/**
+ * 字段不能留白
+ * <p>
+ * 留白是否合规取决于comment是否要求出正本，本地无法判断，未录入时只作为疑点提示大模型。
+ */
+public class RequiredValueRule implements SgsRule {
+
+    private final SgsField field;
+
+    public RequiredValueRule(SgsField field) {
+        this.field = field;
+    }
+
+    @Override
+    public SgsField getField() {
+        return field;
+    }
+
+    @Override
+    public SgsRuleResult check(String value, SgsFileInfo sgsFileInfo) {
+        if (SgsRuleEngine.isEmptyValue(value)) {
+            return SgsRuleResult.undecided("未录入内容，请根据comment确认是否出正本");
+        }
+        return SgsRuleResult.pass();
+    }
+}
@@ -0,0 +1,28 @@
+package com.sgs.busi.rule.impl;
+
+import com.sgs.busi.model.SgsField;
+import com.sgs.busi.model.SgsFileInfo;
+import com.sgs.busi.rule.SgsRule;
+import com.sgs.busi.rule.SgsRuleResult;
+
+/**
+ * 占位规则：字段存在只能由大模型判断的规则（如语种一致、多公司关系证明），本地始终无法判定
+ */
+public class SemanticRule implements SgsRule {
+
+    private final SgsField field;
+
+    public SemanticRule(SgsField field) {
+        this.field = field;
+    }
+
+    @Override
+    public SgsField getField() {
+        return field;
+    }
+
+    @Override
+    public SgsRuleResult check(String value, SgsFileInfo sgsFileInfo) {
+        return SgsRuleResult.undecided();
+    }
+}
@@ -0,0 +1,31 @@
+package com.sgs.busi.rule.impl;
+
+import com.sgs.busi.model.SgsField;
+import com.sgs.busi.model.SgsFileInfo;
+import com.sgs.busi.rule.SgsRule;
+import com.sgs.busi.rule.SgsRuleResult;
+
+/**
+ * 不要出现"系列"字眼
+ */
+public class SeriesWordRule implements SgsRule {
+
+    private final SgsField field;
+
+    public SeriesWordRule(SgsField field) {
+        this.field = field;
+    }
+
+    @Override
+    public SgsField getField() {
+        return field;
+    }
+
+    @Override
+    public SgsRuleResult check(String value, SgsFileInfo sgsFileInfo) {
+        if (value != null && (value.contains("系列") || value.toLowerCase().contains("series"))) {
+            return SgsRuleResult.fail("出现“系列”字眼");
+        }
+        return SgsRuleResult.pass();
+    }
+}
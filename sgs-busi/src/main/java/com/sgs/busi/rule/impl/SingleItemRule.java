@@ -0,0 +1,47 @@
+package com.sgs.busi.rule.impl;
+
+import com.sgs.busi.model.SgsField;
+import com.sgs.busi.model.SgsFileInfo;
+import com.sgs.busi.rule.SgsRule;
+import com.sgs.busi.rule.SgsRuleEngine;
+import com.sgs.busi.rule.SgsRuleResult;
+
+/**
+ * 一个检测样品不能出现多个名称，以顿号或分号分隔的多个值视为多个
+ */
+public class SingleItemRule implements SgsRule {
+
+    private static final String SEPARATORS = "、；;";
+
+    private final SgsField field;
+
+    public SingleItemRule(SgsField field) {
+        this.field = field;
+    }
+
+    @Override
+    public SgsField getField() {
+        return field;
+    }
+
+    @Override
+    public SgsRuleResult check(String value, SgsFileInfo sgsFileInfo) {
+        if (SgsRuleEngine.isEmptyValue(value)) {
+            return SgsRuleResult.pass();
+        }
+        int items = 0;
+        int start = 0;
+        for (int i = 0; i <= value.length(); i++) {
+            if (i == value.length() || SEPARATORS.indexOf(value.charAt(i)) >= 0) {
+                if (!value.substring(start, i).isBlank()) {
+                    items++;
+                }
+                start = i + 1;
+            }
+        }
+        if (items > 1) {
+            return SgsRuleResult.fail("一个检测样品出现了多个值");
+        }
+        return SgsRuleResult.pass();
+    }
+}
@@ -0,0 +1,35 @@
+package com.sgs.busi.service;
+
+import com.sgs.busi.domain.BusiSgsJob;
+
+import java.util.List;
+
+/**
+ * SGS报告批量审核 服务层
+ */
+public interface ISgsBatchService {
+
+    /**
+     * 提交一批报告文件进行异步审核
+     *
+     * @param filePaths 文件路径列表，须位于上传目录下（上传接口保存后返回的路径）
+     * @return 批次ID
+     */
+    public String submitBatch(List<String> filePaths);
+
+    /**
+     * 查询批次下的任务列表
+     *
+     * @param batchId 批次ID
+     * @return 任务集合
+     */
+    public List<BusiSgsJob> selectJobListByBatchId(String batchId);
+
+    /**
+     * 查询任务
+     *
+     * @param jobId 任务ID
+     * @return 任务信息
+     */
+    public BusiSgsJob selectJobById(Long jobId);
+}
@@ -0,0 +1,29 @@
+package com.sgs.busi.service;
+
+import com.sgs.busi.domain.BusiSgsResult;
+
+import java.util.List;
+
+/**
+ * SGS报告审核结果 服务层
+ */
+public interface ISgsResultService {
+
+    /**
+     * 查询审核结果
+     *
+     * @param resultId 结果ID
+     * @return 审核结果
+     */
+    public BusiSgsResult selectResultById(Long resultId);
+
+    /**
+     * 按游标分页查询审核结果，按结果ID倒序；下一页以本页最后一条的结果ID作为游标
+     *
+     * @param query    查询条件
+     * @param lastId   上一页最后一条的结果ID，首页传空
+     * @param pageSize 每页条数
+     * @return 审核结果集合
+     */
+    public List<BusiSgsResult> selectResultList(BusiSgsResult query, Long lastId, int pageSize);
+}
@@ -0,0 +1,18 @@
+package com.sgs.busi.service;
+
+import com.sgs.busi.model.SgsStreamToken;
+import io.reactivex.Flowable;
+
+/**
+ * SGS报告流式审核 服务层
+ */
+public interface ISgsStreamService {
+
+    /**
+     * 流式审核报告文件，逐片段返回大模型输出
+     *
+     * @param filePath 文件路径，须位于上传目录下，否则直接抛出异常
+     * @return 输出片段流，解析与调用均在IO线程上执行
+     */
+    public Flowable<SgsStreamToken> streamCheck(String filePath);
+}
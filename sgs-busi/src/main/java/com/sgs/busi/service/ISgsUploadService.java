@@ -0,0 +1,34 @@
+package com.sgs.busi.service;
+
+import com.sgs.busi.model.SgsUploadResult;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * SGS报告上传解析 服务层
+ */
+public interface ISgsUploadService {
+
+    /**
+     * 直接从上传内容解析SGS文件，不经过磁盘
+     *
+     * @param file    上传的文件
+     * @param persist 是否在解析后异步保存文件到上传目录
+     * @return 解析结果
+     * @throws IOException IO异常
+     */
+    public SgsUploadResult parseUpload(MultipartFile file, boolean persist) throws IOException;
+
+    /**
+     * 逐条解析ZIP中的docx/pdf文件，每完成一条即向输出流写入一行 {@link com.sgs.busi.model.SgsZipEntryResult} JSON
+     * 请求体字节数、条目数与解压后总字节数超出配置上限时，输出一行说明并停止读取后续条目
+     *
+     * @param zip ZIP输入流
+     * @param out NDJSON输出流
+     * @throws IOException IO异常
+     */
+    public void parseZip(InputStream zip, OutputStream out) throws IOException;
+}
@@ -0,0 +1,120 @@
+package com.sgs.busi.service.impl;
+
+import com.sgs.busi.constant.BusiConstants;
+import com.sgs.busi.domain.BusiSgsJob;
+import com.sgs.busi.mapper.BusiSgsJobMapper;
+import com.sgs.busi.pipeline.SgsCheckPipeline;
+import com.sgs.busi.service.ISgsBatchService;
+import com.sgs.busi.utils.SgsFilePathUtils;
+import com.sgs.common.exception.ServiceException;
+import com.sgs.common.utils.StringUtils;
+import com.sgs.common.utils.uuid.IdUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SGS报告批量审核 服务层实现
+ */
+@Slf4j
+@Service
+public class SgsBatchServiceImpl implements ISgsBatchService {
+
+    /** 可续跑的任务状态，越接近完成越先投递 */
+    private static final String[] RESUMABLE_STATUS = { BusiConstants.JOB_RULED, BusiConstants.JOB_PARSED, BusiConstants.JOB_PENDING };
+
+    /** 单批次最大文件数 */
+    @Value("${busi.pipeline.maxBatchSize:500}")
+    private int maxBatchSize;
+
+    /** 补偿调度间隔（秒） */
+    @Value("${busi.pipeline.sweepSeconds:10}")
+    private int sweepSeconds;
+
+    @Autowired
+    private BusiSgsJobMapper jobMapper;
+
+    @Autowired
+    private SgsCheckPipeline pipeline;
+
+    @Autowired
+    @Qualifier("scheduledExecutorService")
+    private ScheduledExecutorService scheduledExecutorService;
+
+    /**
+     * 定时把未完成的任务重新投递到流水线，服务启动后的第一次执行即为断点续跑
+     */
+    @PostConstruct
+    public void init() {
+        scheduledExecutorService.scheduleWithFixedDelay(this::dispatchPending, sweepSeconds, sweepSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public String submitBatch(List<String> filePaths) {
+        if (filePaths == null || filePaths.isEmpty()) {
+            throw new ServiceException("文件列表不能为空");
+        }
+        if (filePaths.size() > maxBatchSize) {
+            throw new ServiceException("单批次文件数不能超过" + maxBatchSize);
+        }
+        String batchId = IdUtils.fastSimpleUUID();
+        List<BusiSgsJob> jobs = new ArrayList<>(filePaths.size());
+        for (String filePath : filePaths) {
+            if (StringUtils.isBlank(filePath)) {
+                continue;
+            }
+            BusiSgsJob job = new BusiSgsJob();
+            job.setBatchId(batchId);
+            job.setFilePath(SgsFilePathUtils.checkUploadPath(filePath));
+            job.setStatus(BusiConstants.JOB_PENDING);
+            jobs.add(job);
+        }
+        if (jobs.isEmpty()) {
+            throw new ServiceException("文件列表不能为空");
+        }
+        jobMapper.batchInsertJob(jobs);
+        for (BusiSgsJob job : jobs) {
+            if (!pipeline.dispatch(job)) {
+                // 解析队列已满，剩余任务交给补偿调度
+                break;
+            }
+        }
+        return batchId;
+    }
+
+    @Override
+    public List<BusiSgsJob> selectJobListByBatchId(String batchId) {
+        return jobMapper.selectJobListByBatchId(batchId);
+    }
+
+    @Override
+    public BusiSgsJob selectJobById(Long jobId) {
+        return jobMapper.selectJobById(jobId);
+    }
+
+    /**
+     * 投递未完成的任务：队列已满未投递的待解析任务，以及服务重启时中断在解析后、审核前的任务。
+     * 已审核与失败的任务不会再次执行；仍在本进程流水线中的任务跳过
+     */
+    private void dispatchPending() {
+        try {
+            for (String status : RESUMABLE_STATUS) {
+                for (BusiSgsJob job : jobMapper.selectJobListByStatus(status, maxBatchSize)) {
+                    if (!pipeline.isInflight(job.getJobId()) && !pipeline.dispatch(job)) {
+                        return;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.error("投递未完成任务异常", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.sgs.busi.service.impl;
+
+import com.sgs.busi.constant.BusiConstants;
+import com.sgs.busi.domain.BusiSgsResult;
+import com.sgs.busi.mapper.BusiSgsResultMapper;
+import com.sgs.busi.service.ISgsResultService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * SGS报告审核结果 服务层实现
+ */
+@Service
+public class SgsResultServiceImpl implements ISgsResultService {
+
+    @Autowired
+    private BusiSgsResultMapper resultMapper;
+
+    @Override
+    public BusiSgsResult selectResultById(Long resultId) {
+        return resultMapper.selectResultById(resultId);
+    }
+
+    @Override
+    public List<BusiSgsResult> selectResultList(BusiSgsResult query, Long lastId, int pageSize) {
+        int limit = Math.max(1, Math.min(pageSize, BusiConstants.RESULT_PAGE_MAX_SIZE));
+        return resultMapper.selectResultList(query, lastId, limit);
+    }
+}
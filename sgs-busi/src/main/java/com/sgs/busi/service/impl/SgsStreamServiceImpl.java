@@ -0,0 +1,120 @@
+package com.sgs.busi.service.impl;
+
+import com.sgs.busi.cache.SgsParseCache;
+import com.sgs.busi.cache.SgsVerdictCache;
+import com.sgs.busi.constant.BusiConstants;
+import com.sgs.busi.domain.BusiSgsResult;
+import com.sgs.busi.llm.VolcengineClient;
+import com.sgs.busi.model.SgsFileInfo;
+import com.sgs.busi.model.SgsStreamToken;
+import com.sgs.busi.pipeline.SgsResultWriter;
+import com.sgs.busi.rule.SgsPromptBuilder;
+import com.sgs.busi.rule.SgsRuleEngine;
+import com.sgs.busi.rule.SgsRuleReport;
+import com.sgs.busi.service.ISgsStreamService;
+import com.sgs.busi.utils.SgsFilePathUtils;
+import com.sgs.busi.utils.VolcengineUtils;
+import com.sgs.common.utils.StringUtils;
+import com.volcengine.ark.runtime.model.completion.chat.ChatCompletionChunk;
+import com.volcengine.ark.runtime.model.completion.chat.ChatMessage;
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SGS报告流式审核 服务层实现
+ */
+@Service
+public class SgsStreamServiceImpl implements ISgsStreamService {
+
+    @Autowired
+    private SgsParseCache sgsParseCache;
+
+    @Autowired
+    private SgsVerdictCache sgsVerdictCache;
+
+    @Autowired
+    private VolcengineClient volcengineClient;
+
+    @Autowired
+    private SgsRuleEngine sgsRuleEngine;
+
+    @Autowired
+    private SgsResultWriter resultWriter;
+
+    @Override
+    public Flowable<SgsStreamToken> streamCheck(String filePath) {
+        // 在订阅前同步校验，路径不合法时直接返回错误响应，不建立事件流
+        String path = SgsFilePathUtils.checkUploadPath(filePath);
+        return Flowable.fromCallable(() -> sgsParseCache.parse(path))
+                .subscribeOn(Schedulers.io())
+                .concatMap(sgsFileInfo -> streamCheck(sgsFileInfo, path));
+    }
+
+    private Flowable<SgsStreamToken> streamCheck(SgsFileInfo sgsFileInfo, String filePath) {
+        SgsRuleReport report = sgsRuleEngine.check(sgsFileInfo);
+        if (report.isConclusive()) {
+            BusiSgsResult result = new BusiSgsResult();
+            result.setSource(BusiConstants.RESULT_SOURCE_RULE);
+            result.setVerdict(report.toVerdict());
+            result.setViolations(String.join("\n", report.getViolations()));
+            resultWriter.submit(sgsFileInfo, filePath, result);
+            return Flowable.just(new SgsStreamToken(SgsStreamToken.CONTENT, result.getVerdict()));
+        }
+        String userContent = SgsPromptBuilder.buildUserContent(sgsFileInfo, report);
+        String cached = sgsVerdictCache.getIfPresent(VolcengineUtils.MODEL, SgsPromptBuilder.SYSTEM_CONTENT, userContent);
+        if (cached != null) {
+            resultWriter.submit(sgsFileInfo, filePath, newResult(BusiConstants.RESULT_SOURCE_CACHE, cached, 0));
+            return Flowable.just(new SgsStreamToken(SgsStreamToken.CONTENT, cached));
+        }
+        return Flowable.defer(() -> {
+            long start = System.currentTimeMillis();
+            StringBuilder verdict = new StringBuilder();
+            return volcengineClient.streamChatCompletion(VolcengineUtils.buildCheckRequest(SgsPromptBuilder.SYSTEM_CONTENT, userContent))
+                    .concatMapIterable(SgsStreamServiceImpl::toTokens)
+                    .doOnNext(token -> {
+                        if (SgsStreamToken.CONTENT.equals(token.getType())) {
+                            verdict.append(token.getText());
+                        }
+                    })
+                    .doOnComplete(() -> {
+                        sgsVerdictCache.put(VolcengineUtils.MODEL, SgsPromptBuilder.SYSTEM_CONTENT, userContent, verdict.toString());
+                        // 流式响应不带用量，token数以调用指标为准
+                        resultWriter.submit(sgsFileInfo, filePath, newResult(BusiConstants.RESULT_SOURCE_LLM, verdict.toString(),
+                                System.currentTimeMillis() - start));
+                    });
+        });
+    }
+
+    private static BusiSgsResult newResult(String source, String verdict, long latencyMs) {
+        BusiSgsResult result = new BusiSgsResult();
+        result.setSource(source);
+        result.setModel(VolcengineUtils.MODEL);
+        result.setVerdict(verdict);
+        result.setLatencyMs(latencyMs);
+        return result;
+    }
+
+    private static List<SgsStreamToken> toTokens(ChatCompletionChunk chunk) {
+        if (chunk.getChoices() == null || chunk.getChoices().isEmpty()) {
+            return Collections.emptyList();
+        }
+        ChatMessage message = chunk.getChoices().get(0).getMessage();
+        if (message == null) {
+            return Collections.emptyList();
+        }
+        List<SgsStreamToken> tokens = new ArrayList<>(2);
+        if (StringUtils.isNotEmpty(message.getReasoningContent())) {
+            tokens.add(new SgsStreamToken(SgsStreamToken.REASONING, message.getReasoningContent()));
+        }
+        if (message.getContent() != null && StringUtils.isNotEmpty(message.getContent().toString())) {
+            tokens.add(new SgsStreamToken(SgsStreamToken.CONTENT, message.getContent().toString()));
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,323 @@
+package com.sgs.busi.service.impl;
+
+import com.alibaba.fastjson2.JSON;
+import com.sgs.busi.cache.SgsParseCache;
+import com.sgs.busi.model.SgsFileInfo;
+import com.sgs.busi.model.SgsUploadResult;
+import com.sgs.busi.model.SgsZipEntryResult;
+import com.sgs.busi.service.ISgsUploadService;
+import com.sgs.common.config.SgsConfig;
+import com.sgs.common.exception.ServiceException;
+import com.sgs.common.utils.file.FileUploadUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * SGS报告上传解析 服务层实现
+ * <p>
+ * 上传内容只读取一次到内存，解析与可选的落盘共用同一份字节，落盘不阻塞请求线程。
+ * ZIP按条目顺序流式读取，在途条目数不超过解析线程数的两倍，内存占用与压缩包大小无关。
+ * 请求体字节数、条目数与解压后总字节数均有上限，超出后输出一行说明并停止读取，已提交的条目照常输出结果。
+ * 每个提交的条目都会输出一行结果；等待超时后剩余在途条目按超时输出，不再读取后续条目，请求线程不会无限等待。
+ */
+@Slf4j
+@Service
+public class SgsUploadServiceImpl implements ISgsUploadService {
+
+    /** 支持解析的文件类型 */
+    private static final String[] ALLOWED_EXTENSION = { "docx", "pdf" };
+
+    /** 单个ZIP最大条目数 */
+    @Value("${busi.zip.maxEntries:1000}")
+    private int maxEntries;
+
+    /** 单个条目解压后最大字节数 */
+    @Value("${busi.zip.maxEntrySize:52428800}")
+    private long maxEntrySize;
+
+    /** ZIP请求体最大字节数 */
+    @Value("${busi.zip.maxSize:524288000}")
+    private long maxSize;
+
+    /** 全部条目解压后最大总字节数 */
+    @Value("${busi.zip.maxTotalSize:1073741824}")
+    private long maxTotalSize;
+
+    /** 等待任一条目解析完成的最长时间（秒） */
+    @Value("${busi.zip.entryTimeoutSeconds:120}")
+    private long entryTimeoutSeconds;
+
+    @Autowired
+    private SgsParseCache sgsParseCache;
+
+    @Autowired
+    @Qualifier("threadPoolTaskExecutor")
+    private ThreadPoolTaskExecutor threadPoolTaskExecutor;
+
+    @Autowired
+    @Qualifier("sgsZipExecutor")
+    private ThreadPoolTaskExecutor zipExecutor;
+
+    @Override
+    public SgsUploadResult parseUpload(MultipartFile file, boolean persist) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new ServiceException("上传文件不能为空");
+        }
+        try {
+            FileUploadUtils.assertAllowed(file, ALLOWED_EXTENSION);
+        } catch (Exception e) {
+            throw new ServiceException(e.getMessage());
+        }
+        byte[] data = file.getBytes();
+        SgsFileInfo sgsFileInfo = sgsParseCache.parse(data, FileUploadUtils.getExtension(file));
+        String filePath = null;
+        if (persist) {
+            File dest = FileUploadUtils.getAbsoluteFile(SgsConfig.getUploadPath(), FileUploadUtils.extractFilename(file));
+            filePath = dest.getAbsolutePath();
+            threadPoolTaskExecutor.execute(() -> write(dest, data));
+        }
+        return new SgsUploadResult(sgsFileInfo, filePath);
+    }
+
+    @Override
+    public void parseZip(InputStream zip, OutputStream out) throws IOException {
+        int maxInflight = zipExecutor.getMaxPoolSize() * 2;
+        BlockingQueue<SgsZipEntryResult> completed = new LinkedBlockingQueue<>();
+        // 已提交未输出的条目，序号到名称
+        Map<Integer, String> pending = new LinkedHashMap<>();
+        int index = 0;
+        long totalSize = 0;
+        try (ZipInputStream zis = new ZipInputStream(new LimitedInputStream(zip, maxSize))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                String name = entry.getName();
+                String extension = getExtension(name);
+                if (entry.isDirectory() || extension == null) {
+                    continue;
+                }
+                if (index >= maxEntries) {
+                    writeLine(out, new SgsZipEntryResult(index, name, null, "超过最大条目数" + maxEntries + "，已忽略后续文件"));
+                    break;
+                }
+                // 先输出已完成的结果；在途已满时等待任一条目完成，限制内存中的条目数
+                for (SgsZipEntryResult result; (result = completed.poll()) != null; ) {
+                    output(out, result, pending);
+                }
+                while (pending.size() >= maxInflight) {
+                    if (!awaitResult(out, completed, pending)) {
+                        abandon(out, pending);
+                        return;
+                    }
+                }
+                int entryIndex = index++;
+                byte[] data = readEntry(zis);
+                if (data == null) {
+                    writeLine(out, new SgsZipEntryResult(entryIndex, name, null, "文件超过最大限制" + maxEntrySize + "字节"));
+                    continue;
+                }
+                totalSize += data.length;
+                if (totalSize > maxTotalSize) {
+                    writeLine(out, new SgsZipEntryResult(entryIndex, name, null, "解压后总大小超过最大限制" + maxTotalSize + "字节，已忽略后续文件"));
+                    break;
+                }
+                pending.put(entryIndex, name);
+                try {
+                    zipExecutor.execute(() -> {
+                        SgsZipEntryResult result = null;
+                        try {
+                            result = parseEntry(entryIndex, name, extension, data);
+                        } finally {
+                            completed.add(result != null ? result : new SgsZipEntryResult(entryIndex, name, null, "文件解析失败"));
+                        }
+                    });
+                } catch (TaskRejectedException e) {
+                    completed.add(new SgsZipEntryResult(entryIndex, name, null, "解析线程池已关闭"));
+                }
+            }
+        } catch (SizeLimitException e) {
+            writeLine(out, new SgsZipEntryResult(index, null, null, e.getMessage()));
+        }
+        while (!pending.isEmpty()) {
+            if (!awaitResult(out, completed, pending)) {
+                abandon(out, pending);
+            }
+        }
+    }
+
+    /**
+     * 解析单个条目，POI、PDFBox在畸形文件上可能抛出StackOverflowError等错误，同样作为失败结果返回
+     */
+    private SgsZipEntryResult parseEntry(int index, String name, String extension, byte[] data) {
+        try {
+            return new SgsZipEntryResult(index, name, sgsParseCache.parse(data, extension), null);
+        } catch (Throwable e) {
+            log.warn("ZIP条目[{}]解析失败：{}", name, e.toString());
+            return new SgsZipEntryResult(index, name, null, "文件解析失败：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 等待任一条目完成并输出，超时返回false
+     */
+    private boolean awaitResult(OutputStream out, BlockingQueue<SgsZipEntryResult> completed, Map<Integer, String> pending)
+            throws IOException {
+        SgsZipEntryResult result;
+        try {
+            result = completed.poll(entryTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("ZIP解析被中断", e);
+        }
+        if (result == null) {
+            return false;
+        }
+        output(out, result, pending);
+        return true;
+    }
+
+    /**
+     * 输出结果，超时后才完成的条目已按超时输出，不再重复
+     */
+    private static void output(OutputStream out, SgsZipEntryResult result, Map<Integer, String> pending) throws IOException {
+        if (pending.remove(result.getIndex()) != null) {
+            writeLine(out, result);
+        }
+    }
+
+    /**
+     * 剩余在途条目按超时输出
+     */
+    private void abandon(OutputStream out, Map<Integer, String> pending) throws IOException {
+        log.warn("ZIP解析等待超过{}秒，{}个条目按超时处理", entryTimeoutSeconds, pending.size());
+        for (Map.Entry<Integer, String> entry : pending.entrySet()) {
+            writeLine(out, new SgsZipEntryResult(entry.getKey(), entry.getValue(), null, "文件解析超时"));
+        }
+        pending.clear();
+    }
+
+    /**
+     * 读取当前条目内容，超过大小限制时返回null
+     */
+    private byte[] readEntry(ZipInputStream zis) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int len;
+        while ((len = zis.read(buffer)) != -1) {
+            if (bos.size() + len > maxEntrySize) {
+                return null;
+            }
+            bos.write(buffer, 0, len);
+        }
+        return bos.toByteArray();
+    }
+
+    /**
+     * 获取支持解析的扩展名，忽略系统生成的隐藏文件
+     */
+    private static String getExtension(String name) {
+        String fileName = name.substring(name.lastIndexOf('/') + 1);
+        if (fileName.startsWith(".") || fileName.startsWith("~$") || name.startsWith("__MACOSX/")) {
+            return null;
+        }
+        String extension = fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase();
+        for (String allowed : ALLOWED_EXTENSION) {
+            if (allowed.equals(extension)) {
+                return extension;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 请求体超过最大字节数
+     */
+    private static class SizeLimitException extends IOException {
+
+        SizeLimitException(long maxSize) {
+            super("压缩包超过最大限制" + maxSize + "字节，已忽略后续文件");
+        }
+    }
+
+    /**
+     * 限制读取字节数的输入流，超出时抛出 {@link SizeLimitException}
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+
+        private final long maxSize;
+
+        private long count;
+
+        LimitedInputStream(InputStream in, long maxSize) {
+            super(in);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        private void count(long n) throws SizeLimitException {
+            count += n;
+            if (count > maxSize) {
+                throw new SizeLimitException(maxSize);
+            }
+        }
+    }
+
+    private static void writeLine(OutputStream out, SgsZipEntryResult result) throws IOException {
+        out.write(JSON.toJSONString(result).getBytes(StandardCharsets.UTF_8));
+        out.write('\n');
+        out.flush();
+    }
+
+    private static void write(File dest, byte[] data) {
+        try {
+            Files.write(dest.toPath(), data);
+        } catch (IOException e) {
+            log.error("保存上传文件[{}]失败", dest.getAbsolutePath(), e);
+        }
+    }
+}
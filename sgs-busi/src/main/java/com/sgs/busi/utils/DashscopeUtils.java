@@ -1,7 +1,6 @@
 package com.sgs.busi.utils;
 
 import com.alibaba.dashscope.aigc.generation.Generation;
-import com.alibaba.dashscope.aigc.generation.GenerationParam;
 import com.alibaba.dashscope.aigc.generation.GenerationResult;
 import com.alibaba.dashscope.common.Message;
 import com.alibaba.dashscope.common.Role;
@@ -9,10 +8,16 @@ import com.alibaba.dashscope.exception.ApiException;
 import com.alibaba.dashscope.exception.InputRequiredException;
 import com.alibaba.dashscope.exception.NoApiKeyException;
 import com.alibaba.dashscope.utils.JsonUtils;
+import com.sgs.busi.llm.DashscopeClient;
+import com.sgs.busi.llm.DashscopeProvider;
+import com.sgs.busi.llm.LlmMetrics;
+import com.sgs.busi.llm.LlmRateLimiter;
 import com.sgs.busi.model.SgsFileInfo;
+import com.sgs.common.utils.spring.SpringUtils;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * @Author: tengYong
@@ -25,6 +30,9 @@ public class DashscopeUtils {
     public static final String API_KEY = System.getenv("A_LI_YUN_API_KEY");
     public static final String MODEL = "qwen-plus";
 
+    /** 不启动Spring容器直接运行main方法时使用的客户端 */
+    private static volatile DashscopeClient standaloneClient;
+
     /**
      * 检测文件内容是否合规
      *
@@ -51,31 +59,7 @@ public class DashscopeUtils {
     public static void checkFile(String systemContent, String filePath) {
         try {
             SgsFileInfo sgsFileInfo = SgsFileParserUtils.parseSgsFile(filePath);
-            String userContent = "客户名称：" + sgsFileInfo.getCustomerName() + "\n"
-                    + "客户地址：" + sgsFileInfo.getCustomerAddress() + "\n"
-                    + "样品名称：" + sgsFileInfo.getSampleName() + "\n"
-                    + "型号：" + sgsFileInfo.getModelNumber() + "\n"
-                    + "料号：" + sgsFileInfo.getMaterialNumber() + "\n"
-                    + "客户参考信息：" + sgsFileInfo.getCustomerReference() + "\n"
-                    + "样品类型：" + sgsFileInfo.getSampleType();
-            Generation gen = new Generation();
-            Message systemMsg = Message.builder()
-                    .role(Role.SYSTEM.getValue())
-                    .content(systemContent)
-                    .build();
-            Message userMsg = Message.builder()
-                    .role(Role.USER.getValue())
-                    .content(userContent)
-                    .build();
-            GenerationParam param = GenerationParam.builder()
-                    // 若没有配置环境变量，请用百炼API Key将下行替换为：.apiKey("sk-xxx")
-                    .apiKey(API_KEY)
-                    // 此处以qwen-plus为例，可按需更换模型名称。模型列表：https://help.aliyun.com/zh/model-studio/getting-started/models
-                    .model(MODEL)
-                    .messages(Arrays.asList(systemMsg, userMsg))
-                    .resultFormat(GenerationParam.ResultFormat.MESSAGE)
-                    .build();
-            GenerationResult result = gen.call(param);
+            GenerationResult result = call(systemContent, sgsFileInfo.toUserContent());
             System.out.println(JsonUtils.toJson(result));
         } catch (Exception e) {
             // 使用日志框架记录异常信息
@@ -83,28 +67,61 @@ public class DashscopeUtils {
         }
     }
 
-    public static GenerationResult callWithMessage() throws ApiException, NoApiKeyException, InputRequiredException {
-        Generation gen = new Generation();
+    /**
+     * 审核已解析的文件信息，返回大模型给出的审核结论
+     *
+     * @param systemContent 系统内容
+     * @param sgsFileInfo   解析后的文件信息
+     * @return 审核结论
+     */
+    public static String check(String systemContent, SgsFileInfo sgsFileInfo) throws NoApiKeyException, InputRequiredException {
+        GenerationResult result = call(systemContent, sgsFileInfo.toUserContent());
+        return result.getOutput().getChoices().get(0).getMessage().getContent();
+    }
+
+    /**
+     * 构建合规审核消息
+     *
+     * @param systemContent 系统内容
+     * @param userContent   用户内容
+     * @return 消息列表
+     */
+    public static List<Message> buildCheckMessages(String systemContent, String userContent) {
         Message systemMsg = Message.builder()
                 .role(Role.SYSTEM.getValue())
-                .content("You are a helpful assistant.")
+                .content(systemContent)
                 .build();
         Message userMsg = Message.builder()
                 .role(Role.USER.getValue())
-                .content("你是谁？")
+                .content(userContent)
                 .build();
-        GenerationParam param = GenerationParam.builder()
-                // 若没有配置环境变量，请用百炼API Key将下行替换为：.apiKey("sk-xxx")
-                .apiKey(API_KEY)
-                // 此处以qwen-plus为例，可按需更换模型名称。模型列表：https://help.aliyun.com/zh/model-studio/getting-started/models
-                .model(MODEL)
-                .messages(Arrays.asList(systemMsg, userMsg))
-                .resultFormat(GenerationParam.ResultFormat.MESSAGE)
-                .build();
-        return gen.call(param);
+        return Arrays.asList(systemMsg, userMsg);
+    }
+
+    private static GenerationResult call(String systemContent, String userContent) throws NoApiKeyException, InputRequiredException {
+        // 此处以qwen-plus为例，可按需更换模型名称。模型列表：https://help.aliyun.com/zh/model-studio/getting-started/models
+        return client().call(MODEL, buildCheckMessages(systemContent, userContent));
+    }
+
+    private static DashscopeClient client() {
+        DashscopeClient client = standaloneClient;
+        return client != null ? client : SpringUtils.getBean(DashscopeClient.class);
+    }
+
+    /**
+     * 创建不依赖Spring容器的客户端：单并发、不限速、不重试
+     */
+    private static void useStandaloneClient() {
+        standaloneClient = new DashscopeClient(new Generation(), API_KEY,
+                new LlmRateLimiter(DashscopeProvider.NAME, 1, 0, 0), new LlmMetrics(), 0);
+    }
+
+    public static GenerationResult callWithMessage() throws ApiException, NoApiKeyException, InputRequiredException {
+        return call("You are a helpful assistant.", "你是谁？");
     }
 
     public static void main(String[] args) {
+        useStandaloneClient();
         // try {
         //     GenerationResult result = callWithMessage();
         //     System.out.println(JsonUtils.toJson(result));
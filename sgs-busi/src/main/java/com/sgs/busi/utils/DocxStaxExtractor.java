@@ -0,0 +1,204 @@
+package com.sgs.busi.utils;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * 基于StAX的DOCX文本提取
+ * <p>
+ * 直接从压缩包中流式读取 word/document.xml，不构建POI的对象模型（样式、图片、runs）。
+ * 输出格式与 {@link SgsFileParserUtils} 的POI实现一致：先输出全部正文段落，每段一行；再输出全部表格，表格行的非空单元格以 " | " 连接为一行。
+ * 制表符只取 w:r 中的 w:tab，段落属性 w:pPr/w:tabs 中的制表位定义不输出。
+ * 文本框（w:txbxContent）与兼容性回退内容（mc:Fallback）不在POI段落文本中，这里同样跳过。
+ */
+public class DocxStaxExtractor {
+
+    private static final String W_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+
+    private static final String MC_NS = "http://schemas.openxmlformats.org/markup-compatibility/2006";
+
+    private static final String DOCUMENT_ENTRY = "word/document.xml";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createFactory();
+
+    /**
+     * 提取DOCX正文文本
+     *
+     * @param is DOCX文件流，方法不会关闭该流
+     * @return 正文文本
+     * @throws IOException IO异常或文档格式错误
+     */
+    public static String extract(InputStream is) throws IOException {
+        ZipInputStream zis = new ZipInputStream(is);
+        ZipEntry entry;
+        while ((entry = zis.getNextEntry()) != null) {
+            if (DOCUMENT_ENTRY.equals(entry.getName())) {
+                try {
+                    return extractDocumentXml(new FilterInputStream(zis) {
+                        @Override
+                        public void close() {
+                            // 由调用方关闭
+                        }
+                    });
+                } catch (XMLStreamException e) {
+                    throw new IOException("Word文档内容格式错误", e);
+                }
+            }
+        }
+        throw new IOException("不是有效的Word文档，缺少" + DOCUMENT_ENTRY);
+    }
+
+    private static String extractDocumentXml(InputStream is) throws XMLStreamException {
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(is, "UTF-8");
+        try {
+            StringBuilder content = new StringBuilder();
+            StringBuilder tables = new StringBuilder();
+            StringBuilder paragraph = null;
+            StringBuilder cell = null;
+            List<String> rowCells = null;
+            int tableDepth = 0;
+            int skipDepth = 0;
+            int runDepth = 0;
+            boolean inText = false;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String ns = reader.getNamespaceURI();
+                    String name = reader.getLocalName();
+                    if (skipDepth > 0 || isSkipped(ns, name)) {
+                        skipDepth++;
+                        continue;
+                    }
+                    if (!W_NS.equals(ns)) {
+                        continue;
+                    }
+                    switch (name) {
+                        case "tbl":
+                            tableDepth++;
+                            break;
+                        case "tr":
+                            if (tableDepth == 1) {
+                                rowCells = new ArrayList<>();
+                            }
+                            break;
+                        case "tc":
+                            if (tableDepth == 1) {
+                                cell = new StringBuilder();
+                            }
+                            break;
+                        case "p":
+                            paragraph = new StringBuilder();
+                            break;
+                        case "r":
+                            runDepth++;
+                            break;
+                        case "t":
+                            inText = true;
+                            break;
+                        case "tab":
+                            if (runDepth > 0) {
+                                append(paragraph, '\t');
+                            }
+                            break;
+                        case "br":
+                        case "cr":
+                            if (runDepth > 0) {
+                                append(paragraph, '\n');
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (skipDepth > 0) {
+                        skipDepth--;
+                        continue;
+                    }
+                    if (!W_NS.equals(reader.getNamespaceURI())) {
+                        continue;
+                    }
+                    switch (reader.getLocalName()) {
+                        case "r":
+                            runDepth--;
+                            break;
+                        case "t":
+                            inText = false;
+                            break;
+                        case "p":
+                            if (paragraph != null) {
+                                if (tableDepth == 0) {
+                                    if (!paragraph.toString().trim().isEmpty()) {
+                                        content.append(paragraph).append('\n');
+                                    }
+                                } else if (cell != null) {
+                                    if (cell.length() > 0) {
+                                        cell.append('\n');
+                                    }
+                                    cell.append(paragraph);
+                                }
+                                paragraph = null;
+                            }
+                            break;
+                        case "tc":
+                            if (tableDepth == 1 && cell != null && rowCells != null) {
+                                String cellText = cell.toString().trim();
+                                if (!cellText.isEmpty()) {
+                                    rowCells.add(cellText);
+                                }
+                                cell = null;
+                            }
+                            break;
+                        case "tr":
+                            if (tableDepth == 1 && rowCells != null) {
+                                if (!rowCells.isEmpty()) {
+                                    tables.append(String.join(" | ", rowCells)).append('\n');
+                                }
+                                rowCells = null;
+                            }
+                            break;
+                        case "tbl":
+                            tableDepth--;
+                            break;
+                        default:
+                            break;
+                    }
+                } else if (inText && skipDepth == 0
+                        && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                    if (paragraph != null) {
+                        paragraph.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    }
+                }
+            }
+            return content.append(tables).toString().trim();
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static boolean isSkipped(String ns, String name) {
+        return (W_NS.equals(ns) && "txbxContent".equals(name)) || (MC_NS.equals(ns) && "Fallback".equals(name));
+    }
+
+    private static void append(StringBuilder paragraph, char c) {
+        if (paragraph != null) {
+            paragraph.append(c);
+        }
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+}
@@ -0,0 +1,213 @@
+package com.sgs.busi.utils;
+
+import com.sgs.busi.model.SgsField;
+import com.sgs.busi.model.SgsFileInfo;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * SGS报告字段提取器
+ * <p>
+ * 以全部字段标签构建 Aho-Corasick 自动机，对文本只扫描一遍：命中标签且其后为全角或半角冒号时，
+ * 跳过空白与一个可选的表格分隔符 "|"，截取到换行或下一个 "|" 为止作为字段值，随后从值的末尾继续扫描。
+ * <ul>
+ * <li>必填字段在冒号后为空时可以取下一行的值，但下一行以其他标签开头时视为未识别；</li>
+ * <li>允许为空的字段（料号、客户参考信息）不跨行，避免把下一行的标签当作值。</li>
+ * </ul>
+ * 自动机构建后不可变，可被多个线程同时使用，扫描过程不产生中间对象。
+ */
+public final class SgsFieldExtractor {
+
+    /** 全局唯一实例 */
+    public static final SgsFieldExtractor INSTANCE = new SgsFieldExtractor(SgsField.values());
+
+    private static final int ROOT = 0;
+
+    private final SgsField[] fields;
+
+    /** 每个节点的出边字符，升序排列 */
+    private final char[][] edgeChars;
+
+    /** 每个节点的出边目标，与 edgeChars 一一对应 */
+    private final int[][] edgeTargets;
+
+    /** 失配指针 */
+    private final int[] fail;
+
+    /** 节点命中的字段下标，未命中为-1 */
+    private final int[] output;
+
+    private SgsFieldExtractor(SgsField[] fields) {
+        this.fields = fields;
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        outputs.add(-1);
+        for (int i = 0; i < fields.length; i++) {
+            int node = ROOT;
+            for (char c : fields[i].getLabel().toCharArray()) {
+                Integer next = trie.get(node).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    outputs.add(-1);
+                    trie.get(node).put(c, next);
+                }
+                node = next;
+            }
+            outputs.set(node, i);
+        }
+
+        int size = trie.size();
+        this.edgeChars = new char[size][];
+        this.edgeTargets = new int[size][];
+        this.fail = new int[size];
+        this.output = new int[size];
+        for (int node = 0; node < size; node++) {
+            TreeMap<Character, Integer> edges = trie.get(node);
+            edgeChars[node] = new char[edges.size()];
+            edgeTargets[node] = new int[edges.size()];
+            int k = 0;
+            for (var edge : edges.entrySet()) {
+                edgeChars[node][k] = edge.getKey();
+                edgeTargets[node][k] = edge.getValue();
+                k++;
+            }
+            output[node] = outputs.get(node);
+        }
+
+        // 广度优先计算失配指针，节点无输出时继承失配节点的输出
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : edgeTargets[ROOT]) {
+            fail[child] = ROOT;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int k = 0; k < edgeChars[node].length; k++) {
+                char c = edgeChars[node][k];
+                int child = edgeTargets[node][k];
+                int f = fail[node];
+                while (f != ROOT && next(f, c) < 0) {
+                    f = fail[f];
+                }
+                int target = next(f, c);
+                fail[child] = target >= 0 && target != child ? target : ROOT;
+                if (output[child] < 0) {
+                    output[child] = output[fail[child]];
+                }
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * 从文本中识别字段并写入文件信息，同一字段多次出现时以最后一次为准
+     *
+     * @param content      文本内容
+     * @param sgsFileInfo  文件信息
+     * @param keepExisting 为true时已识别的字段不再覆盖
+     * @return 文件信息
+     */
+    public SgsFileInfo extract(CharSequence content, SgsFileInfo sgsFileInfo, boolean keepExisting) {
+        int length = content.length();
+        int state = ROOT;
+        int i = 0;
+        while (i < length) {
+            char c = content.charAt(i);
+            int next;
+            while ((next = next(state, c)) < 0 && state != ROOT) {
+                state = fail[state];
+            }
+            state = Math.max(next, ROOT);
+            i++;
+            if (output[state] < 0) {
+                continue;
+            }
+            SgsField field = fields[output[state]];
+            int valueEnd = capture(content, i, field, sgsFileInfo, keepExisting);
+            if (valueEnd >= 0) {
+                i = valueEnd;
+                state = ROOT;
+            }
+        }
+        return sgsFileInfo;
+    }
+
+    /**
+     * 在标签之后截取字段值
+     *
+     * @return 值的结束位置，标签后不是冒号或未取到值时返回-1
+     */
+    private int capture(CharSequence content, int labelEnd, SgsField field, SgsFileInfo sgsFileInfo, boolean keepExisting) {
+        int length = content.length();
+        int pos = skipBlank(content, labelEnd, false);
+        if (pos >= length || !isColon(content.charAt(pos))) {
+            return -1;
+        }
+        boolean crossLine = field.isValueRequired();
+        pos = skipBlank(content, pos + 1, crossLine);
+        if (pos < length && content.charAt(pos) == '|') {
+            pos = skipBlank(content, pos + 1, crossLine);
+        }
+        if (crossLine && startsWithLabel(content, pos)) {
+            return -1;
+        }
+        int end = pos;
+        while (end < length && content.charAt(end) != '\n' && content.charAt(end) != '|') {
+            end++;
+        }
+        String value = content.subSequence(pos, end).toString().trim();
+        if (field.isValueRequired() && value.isEmpty()) {
+            return -1;
+        }
+        if (!(keepExisting && field.get(sgsFileInfo) != null)) {
+            field.set(sgsFileInfo, value);
+        }
+        return end;
+    }
+
+    /**
+     * 指定位置是否以某个字段标签加冒号开头
+     */
+    private boolean startsWithLabel(CharSequence content, int pos) {
+        int state = ROOT;
+        for (int i = pos; i < content.length(); i++) {
+            state = next(state, content.charAt(i));
+            if (state < 0) {
+                return false;
+            }
+            if (output[state] >= 0 && fields[output[state]].getLabel().length() == i - pos + 1) {
+                int colon = skipBlank(content, i + 1, false);
+                return colon < content.length() && isColon(content.charAt(colon));
+            }
+        }
+        return false;
+    }
+
+    private int next(int node, char c) {
+        int k = Arrays.binarySearch(edgeChars[node], c);
+        return k >= 0 ? edgeTargets[node][k] : -1;
+    }
+
+    private static int skipBlank(CharSequence content, int pos, boolean crossLine) {
+        while (pos < content.length()) {
+            char c = content.charAt(pos);
+            if (c == ' ' || c == '\t' || c == '\r' || c == '\u3000' || c == '\u00A0' || (crossLine && c == '\n')) {
+                pos++;
+            } else {
+                break;
+            }
+        }
+        return pos;
+    }
+
+    private static boolean isColon(char c) {
+        return c == '：' || c == ':';
+    }
+}
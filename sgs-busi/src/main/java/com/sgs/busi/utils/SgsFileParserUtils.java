@@ -1,9 +1,12 @@
 package com.sgs.busi.utils;
 
 import com.alibaba.dashscope.utils.JsonUtils;
+import com.sgs.busi.model.SgsField;
 import com.sgs.busi.model.SgsFileInfo;
+import com.sgs.busi.model.SgsParseOptions;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FilenameUtils;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.apache.poi.xwpf.usermodel.XWPFDocument;
@@ -12,13 +15,14 @@ import org.apache.poi.xwpf.usermodel.XWPFTable;
 import org.apache.poi.xwpf.usermodel.XWPFTableCell;
 import org.apache.poi.xwpf.usermodel.XWPFTableRow;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * SGS文件解析工具类
@@ -26,6 +30,12 @@ import java.util.regex.Pattern;
 @Slf4j
 public class SgsFileParserUtils {
 
+    /** 解析器版本，文本提取或字段识别的结果发生变化时递增，使已缓存的解析结果失效 */
+    public static final int PARSER_VERSION = 1;
+
+    /** PDF解析时驻留内存的上限，超出部分使用临时文件 */
+    private static final long PDF_MAX_MAIN_MEMORY = 16 * 1024 * 1024L;
+
     /**
      * 解析SGS文件（支持Word和PDF格式）
      *
@@ -34,6 +44,18 @@ public class SgsFileParserUtils {
      * @throws IOException IO异常
      */
     public static SgsFileInfo parseSgsFile(String filePath) throws IOException {
+        return parseSgsFile(filePath, SgsParseOptions.DEFAULT);
+    }
+
+    /**
+     * 解析SGS文件（支持Word和PDF格式）
+     *
+     * @param filePath 文件完整路径
+     * @param options  解析选项
+     * @return 解析后的SGS文件信息
+     * @throws IOException IO异常
+     */
+    public static SgsFileInfo parseSgsFile(String filePath, SgsParseOptions options) throws IOException {
         File file = new File(filePath);
         if (!file.exists()) {
             throw new IOException("文件不存在：" + filePath);
@@ -44,9 +66,16 @@ public class SgsFileParserUtils {
 
         // 根据文件扩展名选择不同的解析方式
         if ("docx".equals(extension)) {
-            content = parseWordDocument(file);
+            try (FileInputStream fis = new FileInputStream(file)) {
+                content = options.isDocxStreaming() ? DocxStaxExtractor.extract(fis) : parseWordDocument(fis);
+            }
         } else if ("pdf".equals(extension)) {
-            content = parsePdfDocument(file);
+            try (PDDocument document = PDDocument.load(file, MemoryUsageSetting.setupMixed(PDF_MAX_MAIN_MEMORY))) {
+                if (options.getMaxPdfPages() > 0) {
+                    return parsePdfIncrementally(document, options.getMaxPdfPages());
+                }
+                content = parsePdfDocument(document);
+            }
         } else {
             throw new IllegalArgumentException("不支持的文件格式，仅支持.docx和.pdf文件");
         }
@@ -55,12 +84,50 @@ public class SgsFileParserUtils {
         return parseContent(content);
     }
 
+    /**
+     * 解析内存中的SGS文件内容（支持Word和PDF格式）
+     *
+     * @param data      文件内容
+     * @param extension 文件扩展名
+     * @return 解析后的SGS文件信息
+     * @throws IOException IO异常
+     */
+    public static SgsFileInfo parseSgsFile(byte[] data, String extension) throws IOException {
+        return parseSgsFile(data, extension, SgsParseOptions.DEFAULT);
+    }
+
+    /**
+     * 解析内存中的SGS文件内容（支持Word和PDF格式）
+     *
+     * @param data      文件内容
+     * @param extension 文件扩展名
+     * @param options   解析选项
+     * @return 解析后的SGS文件信息
+     * @throws IOException IO异常
+     */
+    public static SgsFileInfo parseSgsFile(byte[] data, String extension, SgsParseOptions options) throws IOException {
+        String content;
+        if ("docx".equalsIgnoreCase(extension)) {
+            ByteArrayInputStream bis = new ByteArrayInputStream(data);
+            content = options.isDocxStreaming() ? DocxStaxExtractor.extract(bis) : parseWordDocument(bis);
+        } else if ("pdf".equalsIgnoreCase(extension)) {
+            try (PDDocument document = PDDocument.load(data)) {
+                if (options.getMaxPdfPages() > 0) {
+                    return parsePdfIncrementally(document, options.getMaxPdfPages());
+                }
+                content = parsePdfDocument(document);
+            }
+        } else {
+            throw new IllegalArgumentException("不支持的文件格式，仅支持.docx和.pdf文件");
+        }
+        return parseContent(content);
+    }
+
     /**
      * 解析Word文档
      */
-    private static String parseWordDocument(File file) throws IOException {
-        try (FileInputStream fis = new FileInputStream(file);
-             XWPFDocument document = new XWPFDocument(fis)) {
+    public static String parseWordDocument(InputStream is) throws IOException {
+        try (XWPFDocument document = new XWPFDocument(is)) {
             StringBuilder contentBuilder = new StringBuilder();
 
             // 读取页眉内容
@@ -104,44 +171,94 @@ public class SgsFileParserUtils {
     /**
      * 解析PDF文档
      */
-    private static String parsePdfDocument(File file) throws IOException {
-        try (PDDocument document = PDDocument.load(file)) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            return stripper.getText(document);
-        }
+    public static String parsePdfDocument(PDDocument document) throws IOException {
+        PDFTextStripper stripper = new PDFTextStripper();
+        return stripper.getText(document);
     }
 
     /**
-     * 解析提取到的文本内容
+     * 逐页提取PDF文本并识别字段，全部字段识别后即停止，不再读取后续页面
+     * <p>
+     * SGS报告的客户与样品信息都在前一两页，逐页提取可避免对上百页的测试数据做全文提取。
+     * 同一字段以最先出现的值为准。
      */
-    private static SgsFileInfo parseContent(String content) {
+    private static SgsFileInfo parsePdfIncrementally(PDDocument document, int maxPages) throws IOException {
         SgsFileInfo sgsFileInfo = new SgsFileInfo();
+        PDFTextStripper stripper = new PDFTextStripper();
+        int pages = Math.min(document.getNumberOfPages(), maxPages);
+        for (int page = 1; page <= pages; page++) {
+            stripper.setStartPage(page);
+            stripper.setEndPage(page);
+            fillContent(sgsFileInfo, stripper.getText(document), true);
+            if (isResolved(sgsFileInfo)) {
+                break;
+            }
+        }
+        return sgsFileInfo;
+    }
 
-        // 定义提取信息的正则表达式模式
-        Pattern pattern = Pattern.compile("(?:客户名称：\\s*[|]?\\s*([^\\n|]+))|" +
-                "(?:客户地址：\\s*[|]?\\s*([^\\n|]+))|" +
-                "(?:样品名称：\\s*[|]?\\s*([^\\n|]+))|" +
-                "(?:型号：\\s*[|]?\\s*([^\\n|]+))|" +
-                "(?:料号：\\s*[|]?\\s*([^\\n|]*))|" +
-                "(?:客户参考信息：\\s*[|]?\\s*([^\\n|]*))|" +
-                "(?:样品类型：\\s*[|]?\\s*([^\\n|]+))");
-
-        Matcher matcher = pattern.matcher(content);
-        while (matcher.find()) {
-            if (matcher.group(1) != null) sgsFileInfo.setCustomerName(matcher.group(1).trim());
-            if (matcher.group(2) != null) sgsFileInfo.setCustomerAddress(matcher.group(2).trim());
-            if (matcher.group(3) != null) sgsFileInfo.setSampleName(matcher.group(3).trim());
-            if (matcher.group(4) != null) sgsFileInfo.setModelNumber(matcher.group(4).trim());
-            if (matcher.group(5) != null) sgsFileInfo.setMaterialNumber(matcher.group(5).trim());
-            if (matcher.group(6) != null) sgsFileInfo.setCustomerReference(matcher.group(6).trim());
-            if (matcher.group(7) != null) sgsFileInfo.setSampleType(matcher.group(7).trim());
+    /**
+     * 七个字段是否都已识别
+     */
+    private static boolean isResolved(SgsFileInfo sgsFileInfo) {
+        for (SgsField field : SgsField.values()) {
+            if (field.get(sgsFileInfo) == null) {
+                return false;
+            }
         }
+        return true;
+    }
 
-        return sgsFileInfo;
+    /**
+     * 解析提取到的文本内容
+     */
+    public static SgsFileInfo parseContent(String content) {
+        return fillContent(new SgsFileInfo(), content, false);
+    }
+
+    /**
+     * 从文本中识别字段并写入文件信息
+     *
+     * @param keepExisting 为true时已识别的字段不再覆盖
+     */
+    private static SgsFileInfo fillContent(SgsFileInfo sgsFileInfo, String content, boolean keepExisting) {
+        return SgsFieldExtractor.INSTANCE.extract(content, sgsFileInfo, keepExisting);
     }
 
     public static void main(String[] args) throws IOException {
-        SgsFileInfo sgsFileInfo = parseSgsFile("/Users/tengyong/Downloads/报告.docx");
+        String filePath = "/Users/tengyong/Downloads/报告.docx";
+        SgsFileInfo sgsFileInfo = parseSgsFile(filePath);
         System.out.println(JsonUtils.toJson(sgsFileInfo));
+        compareDocxExtractors(filePath, 200);
+    }
+
+    /**
+     * 对比POI与StAX两种Word提取方式的耗时，并校验两者识别出的字段一致
+     *
+     * @param filePath   Word文件路径
+     * @param iterations 每种方式的执行次数
+     */
+    public static void compareDocxExtractors(String filePath, int iterations) throws IOException {
+        byte[] data = Files.readAllBytes(new File(filePath).toPath());
+        SgsParseOptions streaming = new SgsParseOptions(0, true);
+        String poiResult = JsonUtils.toJson(parseSgsFile(data, "docx", SgsParseOptions.DEFAULT));
+        String staxResult = JsonUtils.toJson(parseSgsFile(data, "docx", streaming));
+        System.out.println("字段一致：" + poiResult.equals(staxResult));
+        // 预热
+        for (int i = 0; i < iterations / 10 + 1; i++) {
+            parseSgsFile(data, "docx", SgsParseOptions.DEFAULT);
+            parseSgsFile(data, "docx", streaming);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            parseSgsFile(data, "docx", SgsParseOptions.DEFAULT);
+        }
+        long poiNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            parseSgsFile(data, "docx", streaming);
+        }
+        long staxNanos = System.nanoTime() - start;
+        System.out.printf("POI：%.3f ms/次，StAX：%.3f ms/次%n", poiNanos / 1e6 / iterations, staxNanos / 1e6 / iterations);
     }
 }
@@ -0,0 +1,41 @@
+package com.sgs.busi.utils;
+
+import com.sgs.common.config.SgsConfig;
+import com.sgs.common.exception.ServiceException;
+import com.sgs.common.utils.StringUtils;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * SGS服务器文件路径校验
+ * <p>
+ * 按路径审核的接口只允许读取上传目录下的文件（即上传接口保存后返回的路径），规范化后再比较，"../" 与指向目录外的绝对路径均被拒绝。
+ */
+public class SgsFilePathUtils {
+
+    /**
+     * 校验文件位于上传目录下
+     *
+     * @param filePath 文件完整路径
+     * @return 规范化后的绝对路径
+     * @throws ServiceException 路径为空、格式错误或不在上传目录下
+     */
+    public static String checkUploadPath(String filePath) {
+        if (StringUtils.isBlank(filePath)) {
+            throw new ServiceException("文件路径不能为空");
+        }
+        Path path;
+        try {
+            path = Paths.get(filePath.trim()).toAbsolutePath().normalize();
+        } catch (InvalidPathException e) {
+            throw new ServiceException("文件路径格式错误：" + filePath);
+        }
+        Path uploadDir = Paths.get(SgsConfig.getUploadPath()).toAbsolutePath().normalize();
+        if (!path.startsWith(uploadDir)) {
+            throw new ServiceException("只能审核上传目录下的文件：" + filePath);
+        }
+        return path.toString();
+    }
+}
@@ -1,7 +1,12 @@
 package com.sgs.busi.utils;
 
 
+import com.sgs.busi.llm.LlmMetrics;
+import com.sgs.busi.llm.LlmRateLimiter;
+import com.sgs.busi.llm.VolcengineClient;
+import com.sgs.busi.llm.VolcengineProvider;
 import com.sgs.busi.model.SgsFileInfo;
+import com.sgs.common.utils.spring.SpringUtils;
 import com.volcengine.ark.runtime.model.completion.chat.ChatCompletionRequest;
 import com.volcengine.ark.runtime.model.completion.chat.ChatMessage;
 import com.volcengine.ark.runtime.model.completion.chat.ChatMessageRole;
@@ -9,7 +14,6 @@ import com.volcengine.ark.runtime.service.ArkService;
 import io.reactivex.schedulers.Schedulers;
 
 import java.io.IOException;
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -24,6 +28,9 @@ public class VolcengineUtils {
     public static final String API_KEY = System.getenv("HUO_SHAN_API_KEY");
     public static final String MODEL = "deepseek-r1-250120";
 
+    /** 不启动Spring容器直接运行main方法时使用的客户端 */
+    private static volatile VolcengineClient standaloneClient;
+
     /**
      * 检测文件内容合规性，打印结果示例
      * 根据提供的规则，以下内容存在不合规情况，需进行修改：
@@ -51,35 +58,25 @@ public class VolcengineUtils {
      */
     public static void checkFile(String systemContent, String filePath) throws IOException {
         SgsFileInfo sgsFileInfo = SgsFileParserUtils.parseSgsFile(filePath);
-        String userContent = "客户名称：" + sgsFileInfo.getCustomerName() + "\n"
-                + "客户地址：" + sgsFileInfo.getCustomerAddress() + "\n"
-                + "样品名称：" + sgsFileInfo.getSampleName() + "\n"
-                + "型号：" + sgsFileInfo.getModelNumber() + "\n"
-                + "料号：" + sgsFileInfo.getMaterialNumber() + "\n"
-                + "客户参考信息：" + sgsFileInfo.getCustomerReference() + "\n"
-                + "样品类型：" + sgsFileInfo.getSampleType();
-        ArkService service = ArkService.builder()
-                .apiKey(API_KEY)
-                // .baseUrl("https://ark.cn-beijing.volces.com/api/v3/chat/completions") // 如不填默认访问华北 2 (北京)
-                .timeout(Duration.ofSeconds(120))
-                .connectTimeout(Duration.ofSeconds(20))
-                .retryTimes(2)
-                .build();
-        final List<ChatMessage> messages = new ArrayList<>();
-        final ChatMessage systemMessage = ChatMessage.builder().role(ChatMessageRole.SYSTEM).content(systemContent).build();
-        final ChatMessage userMessage = ChatMessage.builder().role(ChatMessageRole.USER).content(userContent).build();
-        messages.add(systemMessage);
-        messages.add(userMessage);
+        VolcengineClient service = client();
+        ChatCompletionRequest chatCompletionRequest = buildCheckRequest(systemContent, sgsFileInfo.toUserContent());
+        service.createChatCompletion(chatCompletionRequest).getChoices().forEach(choice -> System.out.println(choice.getMessage().getContent()));
+    }
 
-        ChatCompletionRequest chatCompletionRequest = ChatCompletionRequest.builder()
+    /**
+     * 构建合规审核请求
+     *
+     * @param systemContent 系统内容
+     * @param userContent   用户内容
+     * @return 对话请求
+     */
+    public static ChatCompletionRequest buildCheckRequest(String systemContent, String userContent) {
+        return ChatCompletionRequest.builder()
                 .model(MODEL)
-                .messages(messages)
+                .messages(Arrays.asList(
+                        ChatMessage.builder().role(ChatMessageRole.SYSTEM).content(systemContent).build(),
+                        ChatMessage.builder().role(ChatMessageRole.USER).content(userContent).build()))
                 .build();
-
-        service.createChatCompletion(chatCompletionRequest).getChoices().forEach(choice -> System.out.println(choice.getMessage().getContent()));
-
-        // shutdown service
-        service.shutdownExecutor();
     }
 
     /**
@@ -127,13 +124,7 @@ public class VolcengineUtils {
      * 如果对具体植物或用途感兴趣，可以进一步探讨哦！ 😊
      */
     public static void singleChat() {
-        ArkService service = ArkService.builder()
-                .apiKey(API_KEY)
-                // .baseUrl("https://ark.cn-beijing.volces.com/api/v3/chat/completions") // 如不填默认访问华北 2 (北京)
-                .timeout(Duration.ofSeconds(120))
-                .connectTimeout(Duration.ofSeconds(20))
-                .retryTimes(2)
-                .build();
+        VolcengineClient service = client();
         final List<ChatMessage> messages = new ArrayList<>();
         final ChatMessage systemMessage = ChatMessage.builder().role(ChatMessageRole.SYSTEM).content("你是豆包，是由字节跳动开发的 AI 人工智能助手").build();
         final ChatMessage userMessage = ChatMessage.builder().role(ChatMessageRole.USER).content("常见的十字花科植物有哪些？").build();
@@ -146,9 +137,6 @@ public class VolcengineUtils {
                 .build();
 
         service.createChatCompletion(chatCompletionRequest).getChoices().forEach(choice -> System.out.println(choice.getMessage().getContent()));
-
-        // shutdown service
-        service.shutdownExecutor();
     }
 
     /**
@@ -210,13 +198,7 @@ public class VolcengineUtils {
      * 花椰菜不仅营养丰富，还因其多样的烹饪方式成为健康饮食的明星食材！你对它的哪个方面最感兴趣呢？ 😊
      */
     public static void multiChat() {
-        ArkService service = ArkService.builder()
-                .apiKey(API_KEY)
-                // .baseUrl("https://ark.cn-beijing.volces.com/api/v3/chat/completions") // 如不填默认访问华北 2 (北京)
-                .timeout(Duration.ofSeconds(120))
-                .connectTimeout(Duration.ofSeconds(20))
-                .retryTimes(2)
-                .build();
+        VolcengineClient service = client();
         final List<ChatMessage> messages = Arrays.asList(
                 ChatMessage.builder().role(ChatMessageRole.SYSTEM).content("你是豆包，是由字节跳动开发的 AI 人工智能助手").build(),
                 ChatMessage.builder().role(ChatMessageRole.USER).content("花椰菜是什么？").build(),
@@ -230,9 +212,6 @@ public class VolcengineUtils {
                 .build();
 
         service.createChatCompletion(chatCompletionRequest).getChoices().forEach(choice -> System.out.println(choice.getMessage().getContent()));
-
-        // shutdown service
-        service.shutdownExecutor();
     }
 
     /**
@@ -287,13 +266,7 @@ public class VolcengineUtils {
      * 十字花科植物普遍含有硫代葡萄糖苷（glucosinolates），具有辛辣味和一定的抗氧化作用，但过量摄入可能影响甲状腺功能。许多种类是重要的经济作物，在农业和园艺中广泛栽培。
      */
     public static void streamChat() {
-        ArkService service = ArkService.builder()
-                .apiKey(API_KEY)
-                // .baseUrl("https://ark.cn-beijing.volces.com/api/v3/chat/completions") // 如不填默认访问华北 2 (北京)
-                .timeout(Duration.ofSeconds(120))
-                .connectTimeout(Duration.ofSeconds(20))
-                .retryTimes(2)
-                .build();
+        VolcengineClient service = client();
         final List<ChatMessage> streamMessages = new ArrayList<>();
         final ChatMessage streamSystemMessage = ChatMessage.builder().role(ChatMessageRole.SYSTEM).content("你是豆包，是由字节跳动开发的 AI 人工智能助手").build();
         final ChatMessage streamUserMessage = ChatMessage.builder().role(ChatMessageRole.USER).content("常见的十字花科植物有哪些？").build();
@@ -314,22 +287,13 @@ public class VolcengineUtils {
                             }
                         }
                 );
-
-        // shutdown service
-        service.shutdownExecutor();
     }
 
     /**
      * 异步流式对话（将结果逐字打印），主线程未结束，结果已经打印
      */
     public static void asyncStreamChat() {
-        ArkService service = ArkService.builder()
-                .apiKey(API_KEY)
-                // .baseUrl("https://ark.cn-beijing.volces.com/api/v3/chat/completions") // 如不填默认访问华北 2 (北京)
-                .timeout(Duration.ofSeconds(120))
-                .connectTimeout(Duration.ofSeconds(20))
-                .retryTimes(2)
-                .build();
+        VolcengineClient service = client();
         final List<ChatMessage> streamMessages = new ArrayList<>();
         final ChatMessage streamSystemMessage = ChatMessage.builder().role(ChatMessageRole.SYSTEM).content("你是豆包，是由字节跳动开发的 AI 人工智能助手").build();
         final ChatMessage streamUserMessage = ChatMessage.builder().role(ChatMessageRole.USER).content("常见的十字花科植物有哪些？").build();
@@ -358,11 +322,23 @@ public class VolcengineUtils {
         } catch (InterruptedException e) {
             throw new RuntimeException(e);
         }
-        // shutdown service
-        service.shutdownExecutor();
+    }
+
+    private static VolcengineClient client() {
+        VolcengineClient client = standaloneClient;
+        return client != null ? client : SpringUtils.getBean(VolcengineClient.class);
+    }
+
+    /**
+     * 创建不依赖Spring容器的客户端：单并发、不限速
+     */
+    private static void useStandaloneClient() {
+        standaloneClient = new VolcengineClient(ArkService.builder().apiKey(API_KEY).retryTimes(0).build(),
+                new LlmRateLimiter(VolcengineProvider.NAME, 1, 0, 0), new LlmMetrics(), 0);
     }
 
     public static void main(String[] args) throws IOException {
+        useStandaloneClient();
         // 单轮对话
         // singleChat();
         // 多轮对话
@@ -371,6 +347,10 @@ public class VolcengineUtils {
         // streamChat();
         // 异步流式对话
         // asyncStreamChat();
-        checkFile(SgsFileInfo.SYSTEM_CONTENT, "/Users/ty/Downloads/报告.docx");
+        try {
+            checkFile(SgsFileInfo.SYSTEM_CONTENT, "/Users/ty/Downloads/报告.docx");
+        } finally {
+            standaloneClient.shutdown();
+        }
     }
 }
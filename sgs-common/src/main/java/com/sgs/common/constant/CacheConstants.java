@@ -12,6 +12,26 @@ public class CacheConstants
      */
     public static final String LOGIN_TOKEN_KEY = "login_tokens:";
 
+    /**
+     * 在线会话索引 redis key，按过期时间排序的令牌集合
+     */
+    public static final String LOGIN_TOKEN_INDEX_KEY = "login_tokens_index";
+
+    /**
+     * 用户在线会话 redis key，令牌到登录地址的哈希
+     */
+    public static final String LOGIN_USER_TOKENS_KEY = "login_user_tokens:";
+
+    /**
+     * 登录地址在线会话 redis key，该地址下的令牌集合
+     */
+    public static final String LOGIN_IP_TOKENS_KEY = "login_ip_tokens:";
+
+    /**
+     * 登录用户本地缓存失效 redis channel
+     */
+    public static final String LOGIN_USER_INVALIDATE_CHANNEL = "login_tokens_invalidate";
+
     /**
      * 验证码 redis key
      */
@@ -37,12 +37,18 @@ public class DictUtils
      * @param key 参数键
      * @return dictDatas 字典数据列表
      */
+    @SuppressWarnings("unchecked")
     public static List<SysDictData> getDictCache(String key)
     {
-        JSONArray arrayCache = SpringUtils.getBean(RedisCache.class).getCacheObject(getCacheKey(key));
-        if (StringUtils.isNotNull(arrayCache))
+        Object cacheObj = SpringUtils.getBean(RedisCache.class).getCacheObject(getCacheKey(key));
+        if (cacheObj instanceof JSONArray)
         {
-            return arrayCache.toList(SysDictData.class);
+            return ((JSONArray) cacheObj).toList(SysDictData.class);
+        }
+        if (cacheObj instanceof List)
+        {
+            // 二进制序列化直接还原为字典数据列表
+            return (List<SysDictData>) cacheObj;
         }
         return null;
     }
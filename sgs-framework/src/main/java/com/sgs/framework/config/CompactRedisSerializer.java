@@ -0,0 +1,757 @@
+package com.sgs.framework.config;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import com.sgs.common.core.domain.BaseEntity;
+import com.sgs.common.core.domain.entity.SysDept;
+import com.sgs.common.core.domain.entity.SysDictData;
+import com.sgs.common.core.domain.entity.SysRole;
+import com.sgs.common.core.domain.entity.SysUser;
+import com.sgs.common.core.domain.model.LoginUser;
+
+/**
+ * Redis使用紧凑二进制序列化
+ *
+ * 登录用户与字典数据按固定字段顺序写成二进制，不带类名与字段名；其余类型（字符串、数字、参数配置值等）仍交给FastJson，
+ * 保证限流脚本参数等按文本读取的值不受影响。
+ *
+ * 格式：魔数 0xC1、格式版本、标志位、类型，压缩时随后是原始长度，最后是数据。0xC1不会出现在UTF-8文本开头，
+ * 因此读取时可以区分旧的JSON值，切换序列化方式后已有缓存仍可读取。字段变化时递增版本号，读取旧版本按旧字段顺序解析。
+ * 数据超过压缩阈值时以Deflater压缩，压缩后未变小则保留原文。
+ *
+ * 字段顺序由读写方法手工维护，{@link #FIELDS} 登记了当前版本处理的各实体字段，创建序列化器时与实体类的实际字段比对，
+ * 实体增删字段而编码未同步时直接报错，不会静默丢失字段。往返校验见 {@link CompactRedisSerializerCheck}。
+ *
+ * @author sgs
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object>
+{
+    /** 魔数 */
+    static final byte MAGIC = (byte) 0xC1;
+
+    /** 当前格式版本 */
+    static final byte VERSION = 1;
+
+    /** 标志位：Deflater压缩 */
+    static final byte FLAG_DEFLATE = 1;
+
+    /** 类型：登录用户 */
+    static final byte TYPE_LOGIN_USER = 1;
+
+    /** 类型：字典数据列表 */
+    static final byte TYPE_DICT_LIST = 2;
+
+    private static final int HEADER_LENGTH = 4;
+
+    /**
+     * 当前版本处理的实体字段，与 VERSION 对应；BaseEntity.params 为请求参数，有意不写入。
+     * 实体字段变化时同步修改读写方法、递增 VERSION 并更新此处
+     */
+    static final Map<Class<?>, String> FIELDS = new LinkedHashMap<Class<?>, String>();
+
+    static
+    {
+        FIELDS.put(BaseEntity.class, "searchValue,createBy,createTime,updateBy,updateTime,remark,params");
+        FIELDS.put(LoginUser.class, "userId,deptId,token,loginTime,expireTime,ipaddr,loginLocation,browser,os,permissions,user");
+        FIELDS.put(SysUser.class, "userId,deptId,userName,nickName,email,phonenumber,sex,avatar,password,status,delFlag,"
+                + "loginIp,loginDate,dept,roles,roleIds,postIds,roleId");
+        FIELDS.put(SysDept.class, "deptId,parentId,ancestors,deptName,orderNum,leader,phone,email,status,delFlag,parentName,children");
+        FIELDS.put(SysRole.class, "roleId,roleName,roleKey,roleSort,dataScope,menuCheckStrictly,deptCheckStrictly,status,delFlag,"
+                + "flag,menuIds,deptIds,permissions");
+        FIELDS.put(SysDictData.class, "dictCode,dictSort,dictLabel,dictValue,dictType,cssClass,listClass,isDefault,status");
+    }
+
+    private final FastJson2JsonRedisSerializer<Object> fallback = new FastJson2JsonRedisSerializer<Object>(Object.class);
+
+    /** 压缩阈值（字节），0表示不压缩 */
+    private final int compressThreshold;
+
+    public CompactRedisSerializer(int compressThreshold)
+    {
+        checkFields();
+        this.compressThreshold = compressThreshold;
+    }
+
+    /**
+     * 比对实体类的实际字段与 {@link #FIELDS}，不一致时抛出异常
+     */
+    static void checkFields()
+    {
+        for (Map.Entry<Class<?>, String> entry : FIELDS.entrySet())
+        {
+            Set<String> expected = new TreeSet<String>(Arrays.asList(entry.getValue().split(",")));
+            Set<String> actual = new TreeSet<String>();
+            for (Field field : entry.getKey().getDeclaredFields())
+            {
+                if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic())
+                {
+                    actual.add(field.getName());
+                }
+            }
+            if (!actual.equals(expected))
+            {
+                throw new IllegalStateException(entry.getKey().getSimpleName() + "的字段" + actual + "与紧凑序列化版本" + VERSION
+                        + "登记的字段" + expected + "不一致，请同步读写方法、递增VERSION并更新FIELDS");
+            }
+        }
+    }
+
+    @Override
+    public byte[] serialize(Object t) throws SerializationException
+    {
+        if (t == null)
+        {
+            return new byte[0];
+        }
+        byte type;
+        Output out = new Output();
+        if (t instanceof LoginUser)
+        {
+            type = TYPE_LOGIN_USER;
+            writeLoginUser(out, (LoginUser) t);
+        }
+        else if (isDictList(t))
+        {
+            type = TYPE_DICT_LIST;
+            List<?> list = (List<?>) t;
+            out.writeSize(list.size());
+            for (Object item : list)
+            {
+                writeDictData(out, (SysDictData) item);
+            }
+        }
+        else
+        {
+            return fallback.serialize(t);
+        }
+        byte[] body = out.toByteArray();
+        if (compressThreshold > 0 && body.length >= compressThreshold)
+        {
+            byte[] compressed = deflate(body);
+            if (compressed.length + 5 < body.length)
+            {
+                Output result = new Output();
+                result.writeHeader(FLAG_DEFLATE, type);
+                result.writeVarLong(body.length);
+                result.write(compressed, 0, compressed.length);
+                return result.toByteArray();
+            }
+        }
+        Output result = new Output();
+        result.writeHeader((byte) 0, type);
+        result.write(body, 0, body.length);
+        return result.toByteArray();
+    }
+
+    /**
+     * 判断原始值是否为本格式写入，以魔数区分，不依赖字符解码
+     *
+     * @param bytes Redis中的原始值
+     * @return 是否为紧凑二进制格式
+     */
+    public static boolean isCompact(byte[] bytes)
+    {
+        return bytes != null && bytes.length > 0 && bytes[0] == MAGIC;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException
+    {
+        if (bytes == null || bytes.length <= 0)
+        {
+            return null;
+        }
+        if (bytes[0] != MAGIC)
+        {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_LENGTH)
+        {
+            throw new SerializationException("二进制缓存数据不完整");
+        }
+        int version = bytes[1];
+        if (version < 1 || version > VERSION)
+        {
+            throw new SerializationException("不支持的二进制缓存版本：" + version);
+        }
+        Input in = new Input(bytes, HEADER_LENGTH);
+        if ((bytes[2] & FLAG_DEFLATE) != 0)
+        {
+            int length = (int) in.readVarLong();
+            in = new Input(inflate(bytes, in.pos, length), 0);
+        }
+        switch (bytes[3])
+        {
+            case TYPE_LOGIN_USER:
+                return readLoginUser(in);
+            case TYPE_DICT_LIST:
+                int size = in.readSize();
+                List<SysDictData> list = new ArrayList<SysDictData>(Math.max(size, 0));
+                for (int i = 0; i < size; i++)
+                {
+                    list.add(readDictData(in));
+                }
+                return list;
+            default:
+                throw new SerializationException("未知的二进制缓存类型：" + bytes[3]);
+        }
+    }
+
+    private static boolean isDictList(Object t)
+    {
+        if (!(t instanceof List) || ((List<?>) t).isEmpty())
+        {
+            return false;
+        }
+        for (Object item : (List<?>) t)
+        {
+            if (!(item instanceof SysDictData))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeLoginUser(Output out, LoginUser loginUser)
+    {
+        out.writeLong(loginUser.getUserId());
+        out.writeLong(loginUser.getDeptId());
+        out.writeString(loginUser.getToken());
+        out.writeLong(loginUser.getLoginTime());
+        out.writeLong(loginUser.getExpireTime());
+        out.writeString(loginUser.getIpaddr());
+        out.writeString(loginUser.getLoginLocation());
+        out.writeString(loginUser.getBrowser());
+        out.writeString(loginUser.getOs());
+        out.writeStringSet(loginUser.getPermissions());
+        SysUser user = loginUser.getUser();
+        out.writeBoolean(user != null);
+        if (user != null)
+        {
+            writeUser(out, user);
+        }
+    }
+
+    private static LoginUser readLoginUser(Input in)
+    {
+        LoginUser loginUser = new LoginUser();
+        loginUser.setUserId(in.readLong());
+        loginUser.setDeptId(in.readLong());
+        loginUser.setToken(in.readString());
+        loginUser.setLoginTime(in.readLong());
+        loginUser.setExpireTime(in.readLong());
+        loginUser.setIpaddr(in.readString());
+        loginUser.setLoginLocation(in.readString());
+        loginUser.setBrowser(in.readString());
+        loginUser.setOs(in.readString());
+        loginUser.setPermissions(in.readStringSet());
+        if (in.readBoolean())
+        {
+            loginUser.setUser(readUser(in));
+        }
+        return loginUser;
+    }
+
+    private static void writeUser(Output out, SysUser user)
+    {
+        writeBase(out, user);
+        out.writeLong(user.getUserId());
+        out.writeLong(user.getDeptId());
+        out.writeString(user.getUserName());
+        out.writeString(user.getNickName());
+        out.writeString(user.getEmail());
+        out.writeString(user.getPhonenumber());
+        out.writeString(user.getSex());
+        out.writeString(user.getAvatar());
+        out.writeString(user.getPassword());
+        out.writeString(user.getStatus());
+        out.writeString(user.getDelFlag());
+        out.writeString(user.getLoginIp());
+        out.writeDate(user.getLoginDate());
+        out.writeBoolean(user.getDept() != null);
+        if (user.getDept() != null)
+        {
+            writeDept(out, user.getDept());
+        }
+        List<SysRole> roles = user.getRoles();
+        out.writeSize(roles == null ? -1 : roles.size());
+        if (roles != null)
+        {
+            for (SysRole role : roles)
+            {
+                writeRole(out, role);
+            }
+        }
+        out.writeLongArray(user.getRoleIds());
+        out.writeLongArray(user.getPostIds());
+        out.writeLong(user.getRoleId());
+    }
+
+    private static SysUser readUser(Input in)
+    {
+        SysUser user = new SysUser();
+        readBase(in, user);
+        user.setUserId(in.readLong());
+        user.setDeptId(in.readLong());
+        user.setUserName(in.readString());
+        user.setNickName(in.readString());
+        user.setEmail(in.readString());
+        user.setPhonenumber(in.readString());
+        user.setSex(in.readString());
+        user.setAvatar(in.readString());
+        user.setPassword(in.readString());
+        user.setStatus(in.readString());
+        user.setDelFlag(in.readString());
+        user.setLoginIp(in.readString());
+        user.setLoginDate(in.readDate());
+        if (in.readBoolean())
+        {
+            user.setDept(readDept(in));
+        }
+        int roleSize = in.readSize();
+        if (roleSize >= 0)
+        {
+            List<SysRole> roles = new ArrayList<SysRole>(roleSize);
+            for (int i = 0; i < roleSize; i++)
+            {
+                roles.add(readRole(in));
+            }
+            user.setRoles(roles);
+        }
+        user.setRoleIds(in.readLongArray());
+        user.setPostIds(in.readLongArray());
+        user.setRoleId(in.readLong());
+        return user;
+    }
+
+    private static void writeDept(Output out, SysDept dept)
+    {
+        writeBase(out, dept);
+        out.writeLong(dept.getDeptId());
+        out.writeLong(dept.getParentId());
+        out.writeString(dept.getAncestors());
+        out.writeString(dept.getDeptName());
+        out.writeInteger(dept.getOrderNum());
+        out.writeString(dept.getLeader());
+        out.writeString(dept.getPhone());
+        out.writeString(dept.getEmail());
+        out.writeString(dept.getStatus());
+        out.writeString(dept.getDelFlag());
+        out.writeString(dept.getParentName());
+        List<SysDept> children = dept.getChildren();
+        out.writeSize(children == null ? -1 : children.size());
+        if (children != null)
+        {
+            for (SysDept child : children)
+            {
+                writeDept(out, child);
+            }
+        }
+    }
+
+    private static SysDept readDept(Input in)
+    {
+        SysDept dept = new SysDept();
+        readBase(in, dept);
+        dept.setDeptId(in.readLong());
+        dept.setParentId(in.readLong());
+        dept.setAncestors(in.readString());
+        dept.setDeptName(in.readString());
+        dept.setOrderNum(in.readInteger());
+        dept.setLeader(in.readString());
+        dept.setPhone(in.readString());
+        dept.setEmail(in.readString());
+        dept.setStatus(in.readString());
+        dept.setDelFlag(in.readString());
+        dept.setParentName(in.readString());
+        int size = in.readSize();
+        if (size >= 0)
+        {
+            List<SysDept> children = new ArrayList<SysDept>(size);
+            for (int i = 0; i < size; i++)
+            {
+                children.add(readDept(in));
+            }
+            dept.setChildren(children);
+        }
+        return dept;
+    }
+
+    private static void writeRole(Output out, SysRole role)
+    {
+        writeBase(out, role);
+        out.writeLong(role.getRoleId());
+        out.writeString(role.getRoleName());
+        out.writeString(role.getRoleKey());
+        out.writeInteger(role.getRoleSort());
+        out.writeString(role.getDataScope());
+        out.writeBoolean(role.isMenuCheckStrictly());
+        out.writeBoolean(role.isDeptCheckStrictly());
+        out.writeString(role.getStatus());
+        out.writeString(role.getDelFlag());
+        out.writeBoolean(role.isFlag());
+        out.writeLongArray(role.getMenuIds());
+        out.writeLongArray(role.getDeptIds());
+        out.writeStringSet(role.getPermissions());
+    }
+
+    private static SysRole readRole(Input in)
+    {
+        SysRole role = new SysRole();
+        readBase(in, role);
+        role.setRoleId(in.readLong());
+        role.setRoleName(in.readString());
+        role.setRoleKey(in.readString());
+        role.setRoleSort(in.readInteger());
+        role.setDataScope(in.readString());
+        role.setMenuCheckStrictly(in.readBoolean());
+        role.setDeptCheckStrictly(in.readBoolean());
+        role.setStatus(in.readString());
+        role.setDelFlag(in.readString());
+        role.setFlag(in.readBoolean());
+        role.setMenuIds(in.readLongArray());
+        role.setDeptIds(in.readLongArray());
+        role.setPermissions(in.readStringSet());
+        return role;
+    }
+
+    private static void writeDictData(Output out, SysDictData dictData)
+    {
+        writeBase(out, dictData);
+        out.writeLong(dictData.getDictCode());
+        out.writeLong(dictData.getDictSort());
+        out.writeString(dictData.getDictLabel());
+        out.writeString(dictData.getDictValue());
+        out.writeString(dictData.getDictType());
+        out.writeString(dictData.getCssClass());
+        out.writeString(dictData.getListClass());
+        out.writeString(dictData.getIsDefault());
+        out.writeString(dictData.getStatus());
+    }
+
+    private static SysDictData readDictData(Input in)
+    {
+        SysDictData dictData = new SysDictData();
+        readBase(in, dictData);
+        dictData.setDictCode(in.readLong());
+        dictData.setDictSort(in.readLong());
+        dictData.setDictLabel(in.readString());
+        dictData.setDictValue(in.readString());
+        dictData.setDictType(in.readString());
+        dictData.setCssClass(in.readString());
+        dictData.setListClass(in.readString());
+        dictData.setIsDefault(in.readString());
+        dictData.setStatus(in.readString());
+        return dictData;
+    }
+
+    /**
+     * 实体公共字段，请求参数 params 不写入缓存
+     */
+    private static void writeBase(Output out, BaseEntity entity)
+    {
+        out.writeString(entity.getSearchValue());
+        out.writeString(entity.getCreateBy());
+        out.writeDate(entity.getCreateTime());
+        out.writeString(entity.getUpdateBy());
+        out.writeDate(entity.getUpdateTime());
+        out.writeString(entity.getRemark());
+    }
+
+    private static void readBase(Input in, BaseEntity entity)
+    {
+        entity.setSearchValue(in.readString());
+        entity.setCreateBy(in.readString());
+        entity.setCreateTime(in.readDate());
+        entity.setUpdateBy(in.readString());
+        entity.setUpdateTime(in.readDate());
+        entity.setRemark(in.readString());
+    }
+
+    private static byte[] deflate(byte[] data)
+    {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try
+        {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 16);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished())
+            {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        }
+        finally
+        {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int offset, int length)
+    {
+        Inflater inflater = new Inflater();
+        try
+        {
+            inflater.setInput(data, offset, data.length - offset);
+            byte[] result = new byte[length];
+            int read = 0;
+            while (read < length && !inflater.finished())
+            {
+                int n = inflater.inflate(result, read, length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                {
+                    break;
+                }
+                read += n;
+            }
+            if (read != length)
+            {
+                throw new SerializationException("二进制缓存解压长度不一致");
+            }
+            return result;
+        }
+        catch (DataFormatException e)
+        {
+            throw new SerializationException("二进制缓存解压失败", e);
+        }
+        finally
+        {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 写入缓冲：可空值先写一个存在标记，长度与字符串字节数以变长整数写入
+     */
+    private static class Output extends ByteArrayOutputStream
+    {
+        private Output()
+        {
+            super(256);
+        }
+
+        private void writeHeader(byte flags, byte type)
+        {
+            write(MAGIC);
+            write(VERSION);
+            write(flags);
+            write(type);
+        }
+
+        private void writeVarLong(long value)
+        {
+            while ((value & ~0x7FL) != 0)
+            {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        private void writeBoolean(boolean value)
+        {
+            write(value ? 1 : 0);
+        }
+
+        /**
+         * 写入集合长度，-1表示null
+         */
+        private void writeSize(int size)
+        {
+            writeVarLong(size + 1L);
+        }
+
+        private void writeLong(Long value)
+        {
+            writeBoolean(value != null);
+            if (value != null)
+            {
+                // zigzag编码，负数同样紧凑
+                writeVarLong((value << 1) ^ (value >> 63));
+            }
+        }
+
+        private void writeInteger(Integer value)
+        {
+            writeLong(value == null ? null : value.longValue());
+        }
+
+        private void writeDate(Date value)
+        {
+            writeLong(value == null ? null : value.getTime());
+        }
+
+        private void writeString(String value)
+        {
+            if (value == null)
+            {
+                writeSize(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeSize(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+
+        private void writeStringSet(Set<String> values)
+        {
+            writeSize(values == null ? -1 : values.size());
+            if (values != null)
+            {
+                for (String value : values)
+                {
+                    writeString(value);
+                }
+            }
+        }
+
+        private void writeLongArray(Long[] values)
+        {
+            writeSize(values == null ? -1 : values.length);
+            if (values != null)
+            {
+                for (Long value : values)
+                {
+                    writeLong(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * 读取缓冲，与 {@link Output} 对应
+     */
+    private static class Input
+    {
+        private final byte[] data;
+
+        private int pos;
+
+        private Input(byte[] data, int pos)
+        {
+            this.data = data;
+            this.pos = pos;
+        }
+
+        private int readByte()
+        {
+            if (pos >= data.length)
+            {
+                throw new SerializationException("二进制缓存数据不完整");
+            }
+            return data[pos++] & 0xFF;
+        }
+
+        private long readVarLong()
+        {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7)
+            {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0)
+                {
+                    return value;
+                }
+            }
+            throw new SerializationException("二进制缓存变长整数格式错误");
+        }
+
+        private boolean readBoolean()
+        {
+            return readByte() != 0;
+        }
+
+        private int readSize()
+        {
+            return (int) (readVarLong() - 1);
+        }
+
+        private Long readLong()
+        {
+            if (!readBoolean())
+            {
+                return null;
+            }
+            long zigzag = readVarLong();
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        private Integer readInteger()
+        {
+            Long value = readLong();
+            return value == null ? null : value.intValue();
+        }
+
+        private Date readDate()
+        {
+            Long value = readLong();
+            return value == null ? null : new Date(value);
+        }
+
+        private String readString()
+        {
+            int length = readSize();
+            if (length < 0)
+            {
+                return null;
+            }
+            if (length > data.length - pos)
+            {
+                throw new SerializationException("二进制缓存数据不完整");
+            }
+            String value = new String(data, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+
+        private Set<String> readStringSet()
+        {
+            int size = readSize();
+            if (size < 0)
+            {
+                return null;
+            }
+            Set<String> values = new HashSet<String>(Math.max(16, size * 4 / 3 + 1));
+            for (int i = 0; i < size; i++)
+            {
+                values.add(readString());
+            }
+            return values;
+        }
+
+        private Long[] readLongArray()
+        {
+            int size = readSize();
+            if (size < 0)
+            {
+                return null;
+            }
+            Long[] values = new Long[size];
+            for (int i = 0; i < size; i++)
+            {
+                values[i] = readLong();
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.sgs.framework.config;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import com.sgs.common.core.domain.BaseEntity;
+import com.sgs.common.core.domain.entity.SysDept;
+import com.sgs.common.core.domain.entity.SysDictData;
+import com.sgs.common.core.domain.entity.SysRole;
+import com.sgs.common.core.domain.entity.SysUser;
+import com.sgs.common.core.domain.model.LoginUser;
+
+/**
+ * 紧凑二进制序列化往返校验
+ *
+ * 每个样本的字段都赋非默认值，序列化再反序列化后按反射逐字段比对（含嵌套部门、角色与集合），并输出与JSON序列化的字节数对比。
+ * 覆盖空值、无用户的登录信息、带多级部门与角色权限的登录用户、字典列表、压缩以及旧JSON值的兼容读取；
+ * 实体新增字段由 {@link CompactRedisSerializer#checkFields()} 检查。任一项不一致时抛出异常。
+ *
+ * @author sgs
+ */
+public class CompactRedisSerializerCheck
+{
+    public static void main(String[] args)
+    {
+        CompactRedisSerializer.checkFields();
+        CompactRedisSerializer plain = new CompactRedisSerializer(0);
+        CompactRedisSerializer deflate = new CompactRedisSerializer(64);
+        FastJson2JsonRedisSerializer<Object> json = new FastJson2JsonRedisSerializer<Object>(Object.class);
+
+        byte[] empty = plain.serialize(null);
+        check("null", empty.length == 0 && plain.deserialize(empty) == null && plain.deserialize(null) == null);
+
+        LoginUser anonymous = newLoginUser();
+        anonymous.setPermissions(null);
+        // 无用户时LoginUser的getUsername会抛出空指针，JSON无法序列化，不比较字节数
+        roundTrip("无用户的登录信息", plain, null, anonymous, false);
+
+        LoginUser loginUser = newLoginUser();
+        loginUser.setUser(newUser());
+        roundTrip("登录用户", plain, json, loginUser, false);
+        roundTrip("登录用户（压缩）", deflate, json, loginUser, true);
+
+        roundTrip("字典列表", plain, json, new ArrayList<SysDictData>(Arrays.asList(newDictData(1L), newDictData(2L))), false);
+
+        // 切换序列化方式前写入的JSON值，读回结果应与JSON序列化自身读回的一致（JSON本身不保存searchValue等字段）
+        byte[] legacy = json.serialize(loginUser);
+        check("旧JSON值", diff("loginUser", json.deserialize(legacy), plain.deserialize(legacy)) == null);
+        System.out.println("全部通过");
+    }
+
+    private static void roundTrip(String name, CompactRedisSerializer serializer, FastJson2JsonRedisSerializer<Object> json,
+            Object value, boolean compressed)
+    {
+        byte[] bytes = serializer.serialize(value);
+        check(name + "魔数", bytes[0] == CompactRedisSerializer.MAGIC);
+        check(name + "压缩标志", ((bytes[2] & CompactRedisSerializer.FLAG_DEFLATE) != 0) == compressed);
+        String path = diff("value", value, serializer.deserialize(bytes));
+        if (path != null)
+        {
+            throw new IllegalStateException(name + "往返不一致：" + path);
+        }
+        if (json == null)
+        {
+            System.out.printf("%s：紧凑 %d 字节%n", name, bytes.length);
+        }
+        else
+        {
+            System.out.printf("%s：紧凑 %d 字节，JSON %d 字节%n", name, bytes.length, json.serialize(value).length);
+        }
+    }
+
+    /**
+     * 逐字段比较，返回第一个不一致的字段路径，一致时返回null；请求参数 params 不写入缓存，不比较
+     */
+    private static String diff(String path, Object expected, Object actual)
+    {
+        if (expected == actual)
+        {
+            return null;
+        }
+        if (expected == null || actual == null)
+        {
+            return path;
+        }
+        if (expected instanceof List && actual instanceof List)
+        {
+            List<?> expectedList = (List<?>) expected;
+            List<?> actualList = (List<?>) actual;
+            if (expectedList.size() != actualList.size())
+            {
+                return path + ".size";
+            }
+            for (int i = 0; i < expectedList.size(); i++)
+            {
+                String result = diff(path + "[" + i + "]", expectedList.get(i), actualList.get(i));
+                if (result != null)
+                {
+                    return result;
+                }
+            }
+            return null;
+        }
+        if (expected instanceof Object[] && actual instanceof Object[])
+        {
+            return Arrays.equals((Object[]) expected, (Object[]) actual) ? null : path;
+        }
+        if (expected.getClass() != actual.getClass())
+        {
+            return path + ".class";
+        }
+        if (!CompactRedisSerializer.FIELDS.containsKey(expected.getClass()))
+        {
+            return expected.equals(actual) ? null : path;
+        }
+        for (Class<?> clazz = expected.getClass(); clazz != Object.class; clazz = clazz.getSuperclass())
+        {
+            for (Field field : clazz.getDeclaredFields())
+            {
+                if (Modifier.isStatic(field.getModifiers()) || (clazz == BaseEntity.class && "params".equals(field.getName())))
+                {
+                    continue;
+                }
+                field.setAccessible(true);
+                try
+                {
+                    String result = diff(path + "." + field.getName(), field.get(expected), field.get(actual));
+                    if (result != null)
+                    {
+                        return result;
+                    }
+                }
+                catch (IllegalAccessException e)
+                {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void check(String name, boolean passed)
+    {
+        if (!passed)
+        {
+            throw new IllegalStateException(name + "校验失败");
+        }
+    }
+
+    private static LoginUser newLoginUser()
+    {
+        LoginUser loginUser = new LoginUser();
+        loginUser.setUserId(-3L);
+        loginUser.setDeptId(103L);
+        loginUser.setToken("0f4e8c1a-2b3d-4e5f-8a9b-0c1d2e3f4a5b");
+        loginUser.setLoginTime(1760000000000L);
+        loginUser.setExpireTime(1760001800000L);
+        loginUser.setIpaddr("10.0.0.8");
+        loginUser.setLoginLocation("内网IP");
+        loginUser.setBrowser("Chrome 12");
+        loginUser.setOs("Windows 10");
+        loginUser.setPermissions(new HashSet<String>(Arrays.asList("busi:sgs:list", "busi:sgs:upload", "system:user:query")));
+        return loginUser;
+    }
+
+    private static SysUser newUser()
+    {
+        SysUser user = new SysUser();
+        fillBase(user);
+        user.setUserId(-3L);
+        user.setDeptId(103L);
+        user.setUserName("checker");
+        user.setNickName("校验员");
+        user.setEmail("checker@sgs.com");
+        user.setPhonenumber("15888888888");
+        user.setSex("1");
+        user.setAvatar("/profile/avatar.png");
+        user.setPassword("$2a$10$7JB720yubVSZvUI0rEqK/.VqGOZTH.ulu33dHOiBE8ByOhJIrdAu2");
+        user.setStatus("0");
+        user.setDelFlag("0");
+        user.setLoginIp("10.0.0.8");
+        user.setLoginDate(new Date(1760000000123L));
+        SysDept dept = newDept(103L, "研发部门");
+        SysDept child = newDept(104L, "测试组");
+        child.getChildren().add(newDept(105L, "自动化"));
+        dept.getChildren().add(child);
+        user.setDept(dept);
+        List<SysRole> roles = new ArrayList<SysRole>();
+        roles.add(newRole(2L, "common"));
+        roles.add(newRole(3L, "auditor"));
+        user.setRoles(roles);
+        user.setRoleIds(new Long[] { 2L, null, 3L });
+        user.setPostIds(new Long[] { 4L });
+        user.setRoleId(2L);
+        return user;
+    }
+
+    private static SysDept newDept(Long deptId, String deptName)
+    {
+        SysDept dept = new SysDept();
+        fillBase(dept);
+        dept.setDeptId(deptId);
+        dept.setParentId(deptId - 1);
+        dept.setAncestors("0,100," + (deptId - 1));
+        dept.setDeptName(deptName);
+        dept.setOrderNum(-1);
+        dept.setLeader("负责人");
+        dept.setPhone("15888888888");
+        dept.setEmail("dept@sgs.com");
+        dept.setStatus("0");
+        dept.setDelFlag("0");
+        dept.setParentName("上级部门");
+        return dept;
+    }
+
+    private static SysRole newRole(Long roleId, String roleKey)
+    {
+        SysRole role = new SysRole();
+        fillBase(role);
+        role.setRoleId(roleId);
+        role.setRoleName("角色" + roleId);
+        role.setRoleKey(roleKey);
+        role.setRoleSort(roleId.intValue());
+        role.setDataScope("4");
+        role.setMenuCheckStrictly(true);
+        role.setDeptCheckStrictly(false);
+        role.setStatus("0");
+        role.setDelFlag("0");
+        role.setFlag(true);
+        role.setMenuIds(new Long[] { 1L, 2000L });
+        role.setDeptIds(new Long[0]);
+        role.setPermissions(new HashSet<String>(Arrays.asList("busi:sgs:list", roleKey + ":*")));
+        return role;
+    }
+
+    private static SysDictData newDictData(Long dictCode)
+    {
+        SysDictData dictData = new SysDictData();
+        fillBase(dictData);
+        dictData.setDictCode(dictCode);
+        dictData.setDictSort(dictCode);
+        dictData.setDictLabel("标签" + dictCode);
+        dictData.setDictValue(String.valueOf(dictCode));
+        dictData.setDictType("sys_user_sex");
+        dictData.setCssClass("");
+        dictData.setListClass("primary");
+        dictData.setIsDefault("N");
+        dictData.setStatus("0");
+        return dictData;
+    }
+
+    private static void fillBase(BaseEntity entity)
+    {
+        entity.setSearchValue("search");
+        entity.setCreateBy("admin");
+        entity.setCreateTime(new Date(1700000000456L));
+        entity.setUpdateBy("ry");
+        entity.setUpdateTime(new Date(1750000000789L));
+        entity.setRemark("备注");
+    }
+}
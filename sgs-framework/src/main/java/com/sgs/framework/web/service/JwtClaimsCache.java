@@ -0,0 +1,65 @@
+package com.sgs.framework.web.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+
+/**
+ * 已验签令牌的声明缓存
+ *
+ * 解析器只创建一次；验签通过的令牌按原文缓存其声明，同一令牌再次请求时只做一次哈希查找，不再Base64解码与HMAC计算。
+ * 令牌本身不带过期时间，有效性仍以redis中的登录信息为准，因此缓存只需限制条数。
+ *
+ * @author sgs
+ */
+public class JwtClaimsCache
+{
+    private final JwtParser parser;
+
+    private final int maxSize;
+
+    private final Map<String, Claims> cache;
+
+    public JwtClaimsCache(String secret, int maxSize)
+    {
+        this.parser = Jwts.parser().setSigningKey(secret);
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<String, Claims>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest)
+            {
+                return size() > JwtClaimsCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * 获取令牌声明，未缓存时验签并缓存
+     *
+     * @param token 令牌
+     * @return 数据声明
+     */
+    public Claims parse(String token)
+    {
+        synchronized (cache)
+        {
+            Claims claims = cache.get(token);
+            if (claims != null)
+            {
+                return claims;
+            }
+        }
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (maxSize > 0)
+        {
+            synchronized (cache)
+            {
+                cache.put(token, claims);
+            }
+        }
+        return claims;
+    }
+}
@@ -0,0 +1,187 @@
+package com.sgs.framework.web.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import com.sgs.common.constant.CacheConstants;
+import com.sgs.common.core.domain.model.LoginUser;
+
+/**
+ * 登录用户本地缓存
+ *
+ * 以令牌uuid为键缓存反序列化后的LoginUser，认证时先查本地，未命中再读Redis。
+ * 退出、强退与用户信息变更时通过Redis发布订阅通知所有节点删除本地副本，有效期兜底消息丢失的情况，且不超过令牌本身的有效期。
+ *
+ * @author sgs
+ */
+@Component
+public class LoginUserCache implements MessageListener
+{
+    private static final Logger log = LoggerFactory.getLogger(LoginUserCache.class);
+
+    // 清空全部本地缓存的消息内容
+    private static final String ALL = "*";
+
+    // 是否启用本地缓存
+    @Value("${token.localCache.enabled:true}")
+    private boolean enabled;
+
+    // 本地缓存有效期（秒）
+    @Value("${token.localCache.expireSeconds:30}")
+    private int expireSeconds;
+
+    // 本地缓存最大条数
+    @Value("${token.localCache.maxSize:10000}")
+    private int maxSize;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private final Map<String, Entry> cache = new LinkedHashMap<String, Entry>(16, 0.75f, true)
+    {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest)
+        {
+            return size() > maxSize;
+        }
+    };
+
+    @PostConstruct
+    public void init()
+    {
+        if (enabled)
+        {
+            redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CacheConstants.LOGIN_USER_INVALIDATE_CHANNEL));
+        }
+    }
+
+    /**
+     * 获取本地缓存的登录用户
+     *
+     * @param uuid 令牌uuid
+     * @return 登录用户，未命中或已过期返回null
+     */
+    public LoginUser get(String uuid)
+    {
+        if (!enabled)
+        {
+            return null;
+        }
+        synchronized (cache)
+        {
+            Entry entry = cache.get(uuid);
+            if (entry == null)
+            {
+                return null;
+            }
+            if (entry.expireAt <= System.currentTimeMillis())
+            {
+                cache.remove(uuid);
+                return null;
+            }
+            return entry.loginUser;
+        }
+    }
+
+    /**
+     * 缓存登录用户，有效期不超过令牌过期时间
+     *
+     * @param uuid 令牌uuid
+     * @param loginUser 登录用户
+     */
+    public void put(String uuid, LoginUser loginUser)
+    {
+        if (!enabled || loginUser == null)
+        {
+            return;
+        }
+        long expireAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(expireSeconds);
+        if (loginUser.getExpireTime() != null && loginUser.getExpireTime() > 0)
+        {
+            expireAt = Math.min(expireAt, loginUser.getExpireTime());
+        }
+        synchronized (cache)
+        {
+            cache.put(uuid, new Entry(loginUser, expireAt));
+        }
+    }
+
+    /**
+     * 删除本节点的本地缓存，并通知其他节点删除
+     *
+     * @param uuid 令牌uuid
+     */
+    public void invalidate(String uuid)
+    {
+        if (!enabled)
+        {
+            return;
+        }
+        evict(uuid);
+        try
+        {
+            stringRedisTemplate.convertAndSend(CacheConstants.LOGIN_USER_INVALIDATE_CHANNEL, uuid);
+        }
+        catch (Exception e)
+        {
+            log.error("发布登录用户缓存失效消息异常'{}'", e.getMessage());
+        }
+    }
+
+    /**
+     * 清空所有节点的本地缓存
+     */
+    public void invalidateAll()
+    {
+        invalidate(ALL);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern)
+    {
+        evict(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void evict(String uuid)
+    {
+        synchronized (cache)
+        {
+            if (ALL.equals(uuid))
+            {
+                cache.clear();
+            }
+            else
+            {
+                cache.remove(uuid);
+            }
+        }
+    }
+
+    private static class Entry
+    {
+        private final LoginUser loginUser;
+
+        private final long expireAt;
+
+        private Entry(LoginUser loginUser, long expireAt)
+        {
+            this.loginUser = loginUser;
+            this.expireAt = expireAt;
+        }
+    }
+}
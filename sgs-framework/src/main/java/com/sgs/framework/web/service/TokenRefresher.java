@@ -0,0 +1,137 @@
+package com.sgs.framework.web.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import com.sgs.common.constant.CacheConstants;
+import com.sgs.common.utils.StringUtils;
+
+/**
+ * 令牌有效期异步续期
+ *
+ * 只用PEXPIRE延长redis中登录信息的有效期，不重新序列化写入LoginUser，同时更新在线会话索引。
+ * 同一令牌在合并窗口内只续期一次，待续期的令牌由定时任务批量以管道方式提交，不占用请求线程。
+ *
+ * @author sgs
+ */
+@Component
+public class TokenRefresher
+{
+    private static final Logger log = LoggerFactory.getLogger(TokenRefresher.class);
+
+    // 令牌有效期（默认30分钟）
+    @Value("${token.expireTime}")
+    private int expireTime;
+
+    // 同一令牌两次续期的最小间隔（秒）
+    @Value("${token.refreshWindowSeconds:60}")
+    private int refreshWindowSeconds;
+
+    // 批量提交续期的间隔（毫秒）
+    @Value("${token.refreshFlushMillis:1000}")
+    private long refreshFlushMillis;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    @Qualifier("scheduledExecutorService")
+    private ScheduledExecutorService scheduledExecutorService;
+
+    /** 待续期的令牌与对应的用户名、登录地址 */
+    private final Map<String, String[]> pending = new ConcurrentHashMap<>();
+
+    /** 令牌最近一次续期的时间 */
+    private final Map<String, Long> refreshedAt = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init()
+    {
+        scheduledExecutorService.scheduleWithFixedDelay(this::flush, refreshFlushMillis, refreshFlushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 登记续期，窗口内已续期的令牌直接跳过
+     *
+     * @param token 令牌uuid
+     * @param userName 用户名
+     * @param ipaddr 登录地址
+     * @return 续期后的过期时间
+     */
+    public long refresh(String token, String userName, String ipaddr)
+    {
+        long now = System.currentTimeMillis();
+        long window = TimeUnit.SECONDS.toMillis(refreshWindowSeconds);
+        Long last = refreshedAt.get(token);
+        if (last == null || now - last >= window)
+        {
+            last = now;
+            refreshedAt.put(token, now);
+            pending.put(token, new String[] { StringUtils.nvl(userName, StringUtils.EMPTY), StringUtils.nvl(ipaddr, StringUtils.EMPTY) });
+        }
+        return last + TimeUnit.MINUTES.toMillis(expireTime);
+    }
+
+    /**
+     * 令牌删除后清除续期记录
+     *
+     * @param token 令牌uuid
+     */
+    public void remove(String token)
+    {
+        pending.remove(token);
+        refreshedAt.remove(token);
+    }
+
+    /**
+     * 批量提交待续期令牌，并清理超出窗口的续期记录
+     */
+    @PreDestroy
+    public void flush()
+    {
+        try
+        {
+            List<Map.Entry<String, String[]>> tokens = new ArrayList<>();
+            for (Iterator<Map.Entry<String, String[]>> it = pending.entrySet().iterator(); it.hasNext();)
+            {
+                Map.Entry<String, String[]> entry = it.next();
+                tokens.add(Map.entry(entry.getKey(), entry.getValue()));
+                it.remove();
+            }
+            if (!tokens.isEmpty())
+            {
+                long millis = TimeUnit.MINUTES.toMillis(expireTime);
+                long expireAt = System.currentTimeMillis() + millis;
+                stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    for (Map.Entry<String, String[]> token : tokens)
+                    {
+                        connection.keyCommands().pExpire((CacheConstants.LOGIN_TOKEN_KEY + token.getKey()).getBytes(StandardCharsets.UTF_8), millis);
+                        TokenSessionIndex.touch(connection, token.getKey(), token.getValue()[0], token.getValue()[1], expireAt);
+                    }
+                    return null;
+                });
+            }
+            long expired = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(refreshWindowSeconds);
+            refreshedAt.values().removeIf(time -> time < expired);
+        }
+        catch (Exception e)
+        {
+            log.error("令牌续期异常'{}'", e.getMessage());
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.sgs.framework.web.service;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,15 +46,42 @@ public class TokenService
     @Value("${token.expireTime}")
     private int expireTime;
 
+    // 续期方式：sync 重新写入登录信息，expire 只异步延长有效期
+    @Value("${token.refreshMode:sync}")
+    private String refreshMode;
+
+    // 已验签令牌声明缓存的最大条数，0表示不缓存
+    @Value("${token.claimsCacheSize:10000}")
+    private int claimsCacheSize;
+
     protected static final long MILLIS_SECOND = 1000;
 
     protected static final long MILLIS_MINUTE = 60 * MILLIS_SECOND;
 
     private static final Long MILLIS_MINUTE_TEN = 20 * 60 * 1000L;
 
+    private static final String REFRESH_MODE_EXPIRE = "expire";
+
     @Autowired
     private RedisCache redisCache;
 
+    @Autowired
+    private LoginUserCache loginUserCache;
+
+    @Autowired
+    private TokenRefresher tokenRefresher;
+
+    @Autowired
+    private TokenSessionIndex tokenSessionIndex;
+
+    private JwtClaimsCache jwtClaimsCache;
+
+    @PostConstruct
+    public void init()
+    {
+        jwtClaimsCache = new JwtClaimsCache(secret, claimsCacheSize);
+    }
+
     /**
      * 获取用户身份信息
      *
@@ -70,8 +98,13 @@ public class TokenService
                 Claims claims = parseToken(token);
                 // 解析对应的权限以及用户信息
                 String uuid = (String) claims.get(Constants.LOGIN_USER_KEY);
-                String userKey = getTokenKey(uuid);
-                LoginUser user = redisCache.getCacheObject(userKey);
+                // 优先读取本地缓存，未命中再读redis
+                LoginUser user = loginUserCache.get(uuid);
+                if (user == null)
+                {
+                    user = redisCache.getCacheObject(getTokenKey(uuid));
+                    loginUserCache.put(uuid, user);
+                }
                 return user;
             }
             catch (Exception e)
@@ -83,13 +116,14 @@ public class TokenService
     }
 
     /**
-     * 设置用户身份信息
+     * 设置用户身份信息，并通知其他节点刷新本地缓存
      */
     public void setLoginUser(LoginUser loginUser)
     {
         if (StringUtils.isNotNull(loginUser) && StringUtils.isNotEmpty(loginUser.getToken()))
         {
             refreshToken(loginUser);
+            loginUserCache.invalidate(loginUser.getToken());
         }
     }
 
@@ -101,7 +135,16 @@ public class TokenService
         if (StringUtils.isNotEmpty(token))
         {
             String userKey = getTokenKey(token);
+            // 删除前取出登录信息，用于移除在线会话索引中的用户与地址记录
+            LoginUser loginUser = loginUserCache.get(token);
+            if (loginUser == null)
+            {
+                loginUser = redisCache.getCacheObject(userKey);
+            }
             redisCache.deleteObject(userKey);
+            loginUserCache.invalidate(token);
+            tokenRefresher.remove(token);
+            tokenSessionIndex.remove(token, loginUser);
         }
     }
 
@@ -135,7 +178,17 @@ public class TokenService
         long currentTime = System.currentTimeMillis();
         if (expireTime - currentTime <= MILLIS_MINUTE_TEN)
         {
-            refreshToken(loginUser);
+            if (REFRESH_MODE_EXPIRE.equals(refreshMode))
+            {
+                // 只延长redis中的有效期，本地对象同步更新过期时间，避免后续请求重复续期
+                String userName = StringUtils.isNotNull(loginUser.getUser()) ? loginUser.getUser().getUserName() : null;
+                loginUser.setExpireTime(tokenRefresher.refresh(loginUser.getToken(), userName, loginUser.getIpaddr()));
+                loginUserCache.put(loginUser.getToken(), loginUser);
+            }
+            else
+            {
+                refreshToken(loginUser);
+            }
         }
     }
 
@@ -151,6 +204,8 @@ public class TokenService
         // 根据uuid将loginUser缓存
         String userKey = getTokenKey(loginUser.getToken());
         redisCache.setCacheObject(userKey, loginUser, expireTime, TimeUnit.MINUTES);
+        loginUserCache.put(loginUser.getToken(), loginUser);
+        tokenSessionIndex.add(loginUser);
     }
 
     /**
@@ -190,10 +245,7 @@ public class TokenService
      */
     private Claims parseToken(String token)
     {
-        return Jwts.parser()
-                .setSigningKey(secret)
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtClaimsCache.parse(token);
     }
 
     /**
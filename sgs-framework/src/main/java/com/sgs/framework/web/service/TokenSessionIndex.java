@@ -0,0 +1,331 @@
+package com.sgs.framework.web.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import com.github.pagehelper.Page;
+import com.sgs.common.constant.CacheConstants;
+import com.sgs.common.core.domain.model.LoginUser;
+import com.sgs.common.core.redis.RedisCache;
+import com.sgs.common.utils.StringUtils;
+
+/**
+ * 在线会话索引
+ *
+ * 有序集合以过期时间为分值记录所有有效令牌，最近访问的令牌分值最大；每个用户另有一个令牌到登录地址的哈希，每个登录地址另有一个令牌集合，
+ * 按用户名或登录地址筛选时直接定位，只对该用户或该地址的令牌取分值排序，不扫描整个索引。
+ * 在线用户列表按索引分页，只以管道方式读取当前页的登录信息，不再对整个库执行KEYS。
+ * 令牌自然过期时索引不会被通知：登记会话时按间隔顺带清理索引中的过期令牌，即使无人查询在线用户，索引大小也只与有效会话数相关；
+ * 用户哈希与地址集合随其中最近的会话过期，其中的过期令牌在查询时清理。主动退出或强退时同时移除三处记录。
+ *
+ * @author sgs
+ */
+@Component
+public class TokenSessionIndex
+{
+    private static final Logger log = LoggerFactory.getLogger(TokenSessionIndex.class);
+
+    private static final byte[] INDEX_KEY = CacheConstants.LOGIN_TOKEN_INDEX_KEY.getBytes(StandardCharsets.UTF_8);
+
+    // 登记会话时清理过期令牌的最小间隔
+    private static final long PRUNE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisCache redisCache;
+
+    // 上次清理索引的时间
+    private final AtomicLong prunedAt = new AtomicLong();
+
+    /**
+     * 登记或刷新会话
+     *
+     * @param loginUser 登录信息
+     */
+    public void add(LoginUser loginUser)
+    {
+        String token = loginUser.getToken();
+        String userName = getUserName(loginUser);
+        String ipaddr = StringUtils.nvl(loginUser.getIpaddr(), StringUtils.EMPTY);
+        long now = System.currentTimeMillis();
+        long last = prunedAt.get();
+        boolean prune = now - last >= PRUNE_INTERVAL_MILLIS && prunedAt.compareAndSet(last, now);
+        try
+        {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                if (prune)
+                {
+                    connection.zSetCommands().zRemRangeByScore(INDEX_KEY, 0, now);
+                }
+                if (StringUtils.isNotEmpty(userName))
+                {
+                    connection.hashCommands().hSet(getUserKey(userName), bytes(token), bytes(ipaddr));
+                }
+                if (StringUtils.isNotEmpty(ipaddr))
+                {
+                    connection.setCommands().sAdd(getIpKey(ipaddr), bytes(token));
+                }
+                touch(connection, token, userName, ipaddr, loginUser.getExpireTime());
+                return null;
+            });
+        }
+        catch (Exception e)
+        {
+            log.error("更新在线会话索引异常'{}'", e.getMessage());
+        }
+    }
+
+    /**
+     * 在管道中延长会话在索引中的有效期，用户哈希与地址集合随其中最近一次访问的会话过期
+     *
+     * @param connection redis连接
+     * @param token 令牌uuid
+     * @param userName 用户名，为空时不更新用户哈希
+     * @param ipaddr 登录地址，为空时不更新地址集合
+     * @param expireAt 过期时间
+     */
+    public static void touch(RedisConnection connection, String token, String userName, String ipaddr, long expireAt)
+    {
+        connection.zSetCommands().zAdd(INDEX_KEY, expireAt, bytes(token));
+        if (StringUtils.isNotEmpty(userName))
+        {
+            connection.keyCommands().pExpireAt(getUserKey(userName), expireAt);
+        }
+        if (StringUtils.isNotEmpty(ipaddr))
+        {
+            connection.keyCommands().pExpireAt(getIpKey(ipaddr), expireAt);
+        }
+    }
+
+    /**
+     * 移除会话
+     *
+     * @param token 令牌uuid
+     * @param loginUser 登录信息，已不存在时为空，此时用户哈希与地址集合中的记录在查询时清理
+     */
+    public void remove(String token, LoginUser loginUser)
+    {
+        String userName = loginUser == null ? null : getUserName(loginUser);
+        String ipaddr = loginUser == null ? null : loginUser.getIpaddr();
+        try
+        {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.zSetCommands().zRem(INDEX_KEY, bytes(token));
+                if (StringUtils.isNotEmpty(userName))
+                {
+                    connection.hashCommands().hDel(getUserKey(userName), bytes(token));
+                }
+                if (StringUtils.isNotEmpty(ipaddr))
+                {
+                    connection.setCommands().sRem(getIpKey(ipaddr), bytes(token));
+                }
+                return null;
+            });
+        }
+        catch (Exception e)
+        {
+            log.error("移除在线会话索引异常'{}'", e.getMessage());
+        }
+    }
+
+    /**
+     * 分页查询在线会话，按最近访问时间倒序
+     *
+     * @param ipaddr 登录地址，精确匹配
+     * @param userName 用户名，精确匹配
+     * @param pageNum 页码
+     * @param pageSize 每页条数
+     * @return 当前页的登录信息，总数为筛选后的会话数
+     */
+    public Page<LoginUser> list(String ipaddr, String userName, int pageNum, int pageSize)
+    {
+        long now = System.currentTimeMillis();
+        stringRedisTemplate.opsForZSet().removeRangeByScore(CacheConstants.LOGIN_TOKEN_INDEX_KEY, 0, now);
+        int start = (Math.max(pageNum, 1) - 1) * pageSize;
+        Page<LoginUser> page = new Page<LoginUser>(pageNum, pageSize);
+        List<String> missing = new ArrayList<String>();
+        if (StringUtils.isNotEmpty(userName))
+        {
+            List<String> tokens = selectUserTokens(userName, ipaddr, now);
+            page.setTotal(tokens.size());
+            if (start < tokens.size())
+            {
+                page.addAll(load(tokens.subList(start, Math.min(start + pageSize, tokens.size())), missing));
+            }
+        }
+        else if (StringUtils.isNotEmpty(ipaddr))
+        {
+            List<String> tokens = selectIpTokens(ipaddr, now);
+            page.setTotal(tokens.size());
+            if (start < tokens.size())
+            {
+                page.addAll(load(tokens.subList(start, Math.min(start + pageSize, tokens.size())), missing));
+            }
+        }
+        else
+        {
+            Long total = stringRedisTemplate.opsForZSet().zCard(CacheConstants.LOGIN_TOKEN_INDEX_KEY);
+            page.setTotal(total == null ? 0 : total);
+            Set<String> tokens = stringRedisTemplate.opsForZSet().reverseRange(CacheConstants.LOGIN_TOKEN_INDEX_KEY, start, start + pageSize - 1);
+            if (tokens != null)
+            {
+                page.addAll(load(tokens, missing));
+            }
+        }
+        if (!missing.isEmpty())
+        {
+            stringRedisTemplate.opsForZSet().remove(CacheConstants.LOGIN_TOKEN_INDEX_KEY, missing.toArray());
+        }
+        return page;
+    }
+
+    /**
+     * 查询用户的有效令牌，按最近访问时间倒序，并清理哈希中已过期的令牌
+     */
+    private List<String> selectUserTokens(String userName, String ipaddr, long now)
+    {
+        String userKey = CacheConstants.LOGIN_USER_TOKENS_KEY + userName;
+        Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(userKey);
+        List<String> tokens = new ArrayList<String>(entries.size());
+        for (Object token : entries.keySet())
+        {
+            tokens.add((String) token);
+        }
+        List<Object> expired = new ArrayList<Object>();
+        List<String> valid = sortByScore(tokens, now, expired);
+        if (!expired.isEmpty())
+        {
+            stringRedisTemplate.opsForHash().delete(userKey, expired.toArray());
+        }
+        if (StringUtils.isNotEmpty(ipaddr))
+        {
+            valid.removeIf(token -> !ipaddr.equals(entries.get(token)));
+        }
+        return valid;
+    }
+
+    /**
+     * 查询登录地址的有效令牌，按最近访问时间倒序，并清理集合中已过期的令牌
+     */
+    private List<String> selectIpTokens(String ipaddr, long now)
+    {
+        String ipKey = CacheConstants.LOGIN_IP_TOKENS_KEY + ipaddr;
+        Set<String> members = stringRedisTemplate.opsForSet().members(ipKey);
+        List<String> tokens = members == null ? new ArrayList<String>() : new ArrayList<String>(members);
+        List<Object> expired = new ArrayList<Object>();
+        List<String> valid = sortByScore(tokens, now, expired);
+        if (!expired.isEmpty())
+        {
+            stringRedisTemplate.opsForSet().remove(ipKey, expired.toArray());
+        }
+        return valid;
+    }
+
+    /**
+     * 管道读取令牌在索引中的分值，返回未过期的令牌并按分值倒序，已过期或不在索引中的令牌记入expired
+     */
+    private List<String> sortByScore(List<String> tokens, long now, List<Object> expired)
+    {
+        if (tokens.isEmpty())
+        {
+            return new ArrayList<String>();
+        }
+        List<Object> scores = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String token : tokens)
+            {
+                connection.zSetCommands().zScore(INDEX_KEY, bytes(token));
+            }
+            return null;
+        });
+        List<Object[]> valid = new ArrayList<Object[]>();
+        for (int i = 0; i < tokens.size(); i++)
+        {
+            Double score = (Double) scores.get(i);
+            if (score == null || score <= now)
+            {
+                expired.add(tokens.get(i));
+            }
+            else
+            {
+                valid.add(new Object[] { tokens.get(i), score });
+            }
+        }
+        valid.sort(Comparator.comparing((Object[] item) -> (Double) item[1]).reversed());
+        List<String> result = new ArrayList<String>(valid.size());
+        for (Object[] item : valid)
+        {
+            result.add((String) item[0]);
+        }
+        return result;
+    }
+
+    /**
+     * 管道读取登录信息，已不存在的令牌记入missing
+     */
+    @SuppressWarnings("unchecked")
+    private List<LoginUser> load(Collection<String> tokens, List<String> missing)
+    {
+        List<String> keys = new ArrayList<String>(tokens.size());
+        for (String token : tokens)
+        {
+            keys.add(CacheConstants.LOGIN_TOKEN_KEY + token);
+        }
+        List<Object> values = redisCache.redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys)
+            {
+                connection.stringCommands().get(bytes(key));
+            }
+            return null;
+        });
+        List<LoginUser> users = new ArrayList<LoginUser>(tokens.size());
+        int i = 0;
+        for (String token : tokens)
+        {
+            Object value = values.get(i++);
+            if (value instanceof LoginUser)
+            {
+                users.add((LoginUser) value);
+            }
+            else
+            {
+                missing.add(token);
+            }
+        }
+        return users;
+    }
+
+    private static String getUserName(LoginUser loginUser)
+    {
+        return StringUtils.isNotNull(loginUser.getUser()) ? loginUser.getUser().getUserName() : null;
+    }
+
+    private static byte[] getUserKey(String userName)
+    {
+        return bytes(CacheConstants.LOGIN_USER_TOKENS_KEY + userName);
+    }
+
+    private static byte[] getIpKey(String ipaddr)
+    {
+        return bytes(CacheConstants.LOGIN_IP_TOKENS_KEY + ipaddr);
+    }
+
+    private static byte[] bytes(String value)
+    {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
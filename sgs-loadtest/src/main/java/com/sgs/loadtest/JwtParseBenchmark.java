@@ -0,0 +1,54 @@
+package com.sgs.loadtest;
+
+import com.sgs.framework.web.service.JwtClaimsCache;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 令牌解析性能测试
+ * <p>
+ * 对比每次新建解析器、复用解析器与命中 {@link JwtClaimsCache} 三种方式的单次耗时。
+ * <p>
+ * 参数：[每种方式的执行次数]，默认200000次。
+ */
+public class JwtParseBenchmark {
+
+    public static void main(String[] args) {
+        String secret = "abcdefghijklmnopqrstuvwxyz";
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("login_user_key", "0f4e8c1a-2b3d-4e5f-8a9b-0c1d2e3f4a5b");
+        String token = Jwts.builder().setClaims(claims).signWith(SignatureAlgorithm.HS512, secret).compact();
+        JwtParser shared = Jwts.parser().setSigningKey(secret);
+        JwtClaimsCache cached = new JwtClaimsCache(secret, 10000);
+        Object sink = null;
+        // 预热
+        for (int i = 0; i < iterations / 10 + 1; i++) {
+            sink = Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody();
+            sink = shared.parseClaimsJws(token).getBody();
+            sink = cached.parse(token);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink = Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody();
+        }
+        long perCallNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink = shared.parseClaimsJws(token).getBody();
+        }
+        long sharedNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink = cached.parse(token);
+        }
+        long cachedNanos = System.nanoTime() - start;
+        System.out.printf("每次新建解析器：%.3f us/次，复用解析器：%.3f us/次，命中缓存：%.3f us/次（%s）%n",
+                perCallNanos / 1e3 / iterations, sharedNanos / 1e3 / iterations, cachedNanos / 1e3 / iterations,
+                sink != null ? "ok" : "empty");
+    }
+}
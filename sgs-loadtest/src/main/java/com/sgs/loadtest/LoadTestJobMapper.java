@@ -0,0 +1,99 @@
+package com.sgs.loadtest;
+
+import com.sgs.busi.constant.BusiConstants;
+import com.sgs.busi.domain.BusiSgsJob;
+import com.sgs.busi.mapper.BusiSgsJobMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 压测用任务表，只在内存中记录每个任务的投递与结束时间
+ * <p>
+ * 任务ID即样本序号；流水线第一次写入已完成或失败状态时视为结束，之后的状态写入不再重复计数。
+ */
+class LoadTestJobMapper implements BusiSgsJobMapper {
+
+    private final AtomicLongArray started;
+
+    private final AtomicLongArray finished;
+
+    private final CountDownLatch done;
+
+    private final LongAdder failures = new LongAdder();
+
+    LoadTestJobMapper(int total) {
+        this.started = new AtomicLongArray(total);
+        this.finished = new AtomicLongArray(total);
+        this.done = new CountDownLatch(total);
+    }
+
+    /**
+     * 记录任务投递时间
+     */
+    void start(long jobId) {
+        started.set((int) jobId, System.nanoTime());
+    }
+
+    boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        return done.await(timeout, unit);
+    }
+
+    /**
+     * 各任务从投递到结束的耗时（纳秒），未结束的任务不计入
+     */
+    long[] latencies() {
+        List<Long> values = new ArrayList<>(finished.length());
+        for (int i = 0; i < finished.length(); i++) {
+            if (finished.get(i) != 0) {
+                values.add(finished.get(i) - started.get(i));
+            }
+        }
+        long[] result = new long[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values.get(i);
+        }
+        return result;
+    }
+
+    long getFailures() {
+        return failures.sum();
+    }
+
+    @Override
+    public BusiSgsJob selectJobById(Long jobId) {
+        return null;
+    }
+
+    @Override
+    public List<BusiSgsJob> selectJobListByBatchId(String batchId) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<BusiSgsJob> selectJobListByStatus(String status, int limit) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public int batchInsertJob(List<BusiSgsJob> jobs) {
+        return jobs.size();
+    }
+
+    @Override
+    public int updateJob(BusiSgsJob job) {
+        boolean failed = BusiConstants.JOB_FAILED.equals(job.getStatus());
+        if ((failed || BusiConstants.JOB_CHECKED.equals(job.getStatus()))
+                && finished.compareAndSet(job.getJobId().intValue(), 0, System.nanoTime())) {
+            if (failed) {
+                failures.increment();
+            }
+            done.countDown();
+        }
+        return 1;
+    }
+}
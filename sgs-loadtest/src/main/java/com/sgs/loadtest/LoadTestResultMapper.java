@@ -0,0 +1,56 @@
+package com.sgs.loadtest;
+
+import com.sgs.busi.domain.BusiSgsResult;
+import com.sgs.busi.mapper.BusiSgsResultMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 压测用结果表，只按结论来源与模型计数
+ */
+class LoadTestResultMapper implements BusiSgsResultMapper {
+
+    private final Map<String, LongAdder> sources = new ConcurrentHashMap<>();
+
+    private final Map<String, LongAdder> models = new ConcurrentHashMap<>();
+
+    Map<String, Long> getSources() {
+        return snapshot(sources);
+    }
+
+    Map<String, Long> getModels() {
+        return snapshot(models);
+    }
+
+    @Override
+    public BusiSgsResult selectResultById(Long resultId) {
+        return null;
+    }
+
+    @Override
+    public List<BusiSgsResult> selectResultList(BusiSgsResult query, Long lastId, int limit) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public int batchInsertResult(List<BusiSgsResult> results) {
+        for (BusiSgsResult result : results) {
+            sources.computeIfAbsent(String.valueOf(result.getSource()), k -> new LongAdder()).increment();
+            if (result.getModel() != null) {
+                models.computeIfAbsent(result.getModel(), k -> new LongAdder()).increment();
+            }
+        }
+        return results.size();
+    }
+
+    private static Map<String, Long> snapshot(Map<String, LongAdder> counters) {
+        Map<String, Long> result = new TreeMap<>();
+        counters.forEach((key, value) -> result.put(key, value.sum()));
+        return result;
+    }
+}
@@ -0,0 +1,66 @@
+package com.sgs.loadtest;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 模拟大模型服务参数
+ * <p>
+ * 首token耗时服从对数正态分布：中位数为 latencyMedianMs，离散程度为 latencySigma，上限 latencyMaxMs；
+ * 之后每个输出分片间隔 chunkIntervalMs。非流式请求在全部分片生成完后一次性返回。
+ */
+@Getter
+@Setter
+public class MockLlmOptions {
+
+    /** 首token耗时中位数（毫秒） */
+    private long latencyMedianMs = 800;
+
+    /** 首token耗时对数正态分布的sigma，0表示固定耗时 */
+    private double latencySigma = 0.5;
+
+    /** 首token耗时上限（毫秒） */
+    private long latencyMaxMs = 30000;
+
+    /** 输出分片间隔（毫秒） */
+    private long chunkIntervalMs = 20;
+
+    /** 每个输出分片的字符数 */
+    private int chunkChars = 4;
+
+    /** 返回429限流的比例 */
+    private double throttleRate = 0;
+
+    /** 返回500服务异常的比例 */
+    private double errorRate = 0;
+
+    /** 回答不合规的比例 */
+    private double nonCompliantRate = 0.3;
+
+    /** 合规时的回答 */
+    private String compliantReply = "合规";
+
+    /** 不合规时的回答 */
+    private String nonCompliantReply = "不合规：样品名称：出现了系列字眼；客户参考信息：包含与样品检测无关的认证信息。";
+
+    /**
+     * 从系统属性读取参数，属性名为 mock. 加字段名，例如 -Dmock.latencyMedianMs=1500
+     */
+    public static MockLlmOptions fromSystemProperties() {
+        MockLlmOptions options = new MockLlmOptions();
+        options.setLatencyMedianMs(Long.getLong("mock.latencyMedianMs", options.getLatencyMedianMs()));
+        options.setLatencySigma(doubleProperty("mock.latencySigma", options.getLatencySigma()));
+        options.setLatencyMaxMs(Long.getLong("mock.latencyMaxMs", options.getLatencyMaxMs()));
+        options.setChunkIntervalMs(Long.getLong("mock.chunkIntervalMs", options.getChunkIntervalMs()));
+        options.setChunkChars(Integer.getInteger("mock.chunkChars", options.getChunkChars()));
+        options.setThrottleRate(doubleProperty("mock.throttleRate", options.getThrottleRate()));
+        options.setErrorRate(doubleProperty("mock.errorRate", options.getErrorRate()));
+        options.setNonCompliantRate(doubleProperty("mock.nonCompliantRate", options.getNonCompliantRate()));
+        return options;
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+}
@@ -0,0 +1,403 @@
+package com.sgs.loadtest;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 模拟大模型服务，用于离线压测
+ * <p>
+ * 基于JDK内置HTTP服务，监听本机端口，同时实现火山方舟 chat/completions 与百炼 text-generation 两种协议的同步与流式调用，
+ * 按 {@link MockLlmOptions} 模拟耗时分布、注入限流与服务异常，并统计请求数与输入输出token数。
+ * 将 busi.llm.volcengineBaseUrl 与 busi.llm.dashscopeBaseUrl 指向 {@link #getArkBaseUrl()} 与 {@link #getDashscopeBaseUrl()} 即可使用。
+ */
+@Slf4j
+public class MockLlmServer {
+
+    /** 火山方舟对话接口路径 */
+    public static final String ARK_PATH = "/api/v3/chat/completions";
+
+    /** 百炼文本生成接口路径 */
+    public static final String DASHSCOPE_PATH = "/api/v1/services/aigc/text-generation/generation";
+
+    private final MockLlmOptions options;
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder streams = new LongAdder();
+
+    private final LongAdder throttled = new LongAdder();
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LongAdder inputTokens = new LongAdder();
+
+    private final LongAdder outputTokens = new LongAdder();
+
+    private HttpServer server;
+
+    private ExecutorService executor;
+
+    public MockLlmServer(MockLlmOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * 启动服务
+     *
+     * @param port 端口，0表示随机端口
+     */
+    public synchronized void start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext(ARK_PATH, exchange -> handle(exchange, true));
+        server.createContext(DASHSCOPE_PATH, exchange -> handle(exchange, false));
+        server.start();
+        log.info("模拟大模型服务已启动，端口：{}", getPort());
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * 火山方舟 baseUrl
+     */
+    public String getArkBaseUrl() {
+        return "http://127.0.0.1:" + getPort() + "/api/v3/";
+    }
+
+    /**
+     * 百炼 baseUrl
+     */
+    public String getDashscopeBaseUrl() {
+        return "http://127.0.0.1:" + getPort() + "/api/v1/";
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requests", requests.sum());
+        result.put("streams", streams.sum());
+        result.put("throttled", throttled.sum());
+        result.put("errors", errors.sum());
+        result.put("inputTokens", inputTokens.sum());
+        result.put("outputTokens", outputTokens.sum());
+        return result;
+    }
+
+    private void handle(HttpExchange exchange, boolean ark) throws IOException {
+        try {
+            requests.increment();
+            JSONObject request = JSON.parseObject(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            double roll = random.nextDouble();
+            if (roll < options.getThrottleRate()) {
+                throttled.increment();
+                sleep(random.nextLong(20, 100));
+                sendError(exchange, ark, 429);
+                return;
+            }
+            if (roll < options.getThrottleRate() + options.getErrorRate()) {
+                errors.increment();
+                sleep(sampleLatency(random));
+                sendError(exchange, ark, 500);
+                return;
+            }
+            String reply = random.nextDouble() < options.getNonCompliantRate() ? options.getNonCompliantReply() : options.getCompliantReply();
+            long promptTokens = estimateTokens(ark ? request.getJSONArray("messages")
+                    : request.getJSONObject("input").getJSONArray("messages"));
+            long completionTokens = estimateTokens(reply);
+            inputTokens.add(promptTokens);
+            outputTokens.add(completionTokens);
+            Reply answer = new Reply(ark, request, reply, promptTokens, completionTokens);
+            if (isStream(exchange, request, ark)) {
+                streams.increment();
+                stream(exchange, answer, random);
+            } else {
+                sleep(sampleLatency(random) + options.getChunkIntervalMs() * chunks(reply).size());
+                send(exchange, 200, "application/json", answer.complete());
+            }
+        } catch (IOException e) {
+            // 客户端取消（如对冲请求被撤销）时连接已关闭
+            log.debug("模拟大模型服务响应中断：{}", e.getMessage());
+        } catch (Exception e) {
+            log.warn("模拟大模型服务处理异常", e);
+            send(exchange, 400, "application/json", "{\"error\":{\"code\":\"InvalidParameter\",\"message\":\"" + e.getMessage() + "\"}}");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void stream(HttpExchange exchange, Reply answer, ThreadLocalRandom random) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream;charset=UTF-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        sleep(sampleLatency(random));
+        List<String> chunks = chunks(answer.content);
+        StringBuilder sent = new StringBuilder();
+        for (int i = 0; i < chunks.size(); i++) {
+            if (i > 0) {
+                sleep(options.getChunkIntervalMs());
+            }
+            sent.append(chunks.get(i));
+            writeEvent(out, answer.chunk(i + 1, chunks.get(i), sent.toString(), i == chunks.size() - 1));
+        }
+        if (answer.ark) {
+            JSONObject streamOptions = answer.request.getJSONObject("stream_options");
+            if (streamOptions != null && streamOptions.getBooleanValue("include_usage")) {
+                writeEvent(out, answer.usageChunk());
+            }
+            writeEvent(out, "data: [DONE]\n\n");
+        }
+        out.close();
+    }
+
+    private static void writeEvent(OutputStream out, String event) throws IOException {
+        out.write(event.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private void sendError(HttpExchange exchange, boolean ark, int status) throws IOException {
+        JSONObject body = new JSONObject();
+        if (ark) {
+            JSONObject error = new JSONObject();
+            error.put("code", status == 429 ? "RateLimitExceeded.EndpointRPMExceeded" : "InternalServiceError");
+            error.put("message", status == 429 ? "Request rate limit exceeded (mock)" : "Internal service error (mock)");
+            error.put("param", "");
+            error.put("type", status == 429 ? "TooManyRequests" : "InternalServerError");
+            body.put("error", error);
+        } else {
+            body.put("code", status == 429 ? "Throttling.RateQuota" : "InternalError");
+            body.put("message", status == 429 ? "Requests rate limit exceeded (mock)" : "Internal error (mock)");
+            body.put("request_id", UUID.randomUUID().toString());
+        }
+        send(exchange, status, "application/json", body.toJSONString());
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + ";charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * 火山方舟以请求体 stream 字段区分；百炼以 X-DashScope-SSE 请求头或 Accept 区分
+     */
+    private static boolean isStream(HttpExchange exchange, JSONObject request, boolean ark) {
+        if (ark) {
+            return request.getBooleanValue("stream");
+        }
+        String sse = exchange.getRequestHeaders().getFirst("X-DashScope-SSE");
+        String accept = exchange.getRequestHeaders().getFirst("Accept");
+        return "enable".equalsIgnoreCase(sse) || (accept != null && accept.contains("text/event-stream"));
+    }
+
+    /**
+     * 按对数正态分布抽样首token耗时
+     */
+    private long sampleLatency(ThreadLocalRandom random) {
+        double latency = options.getLatencyMedianMs() * Math.exp(options.getLatencySigma() * random.nextGaussian());
+        return Math.min(options.getLatencyMaxMs(), Math.round(latency));
+    }
+
+    private List<String> chunks(String content) {
+        List<String> chunks = new ArrayList<>();
+        int size = Math.max(1, options.getChunkChars());
+        for (int i = 0; i < content.length(); i += size) {
+            chunks.add(content.substring(i, Math.min(content.length(), i + size)));
+        }
+        if (chunks.isEmpty()) {
+            chunks.add("");
+        }
+        return chunks;
+    }
+
+    private static long estimateTokens(JSONArray messages) {
+        long tokens = 0;
+        if (messages != null) {
+            for (int i = 0; i < messages.size(); i++) {
+                tokens += estimateTokens(messages.getJSONObject(i).getString("content")) + 4;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 估算token数：汉字按1个计，其余字符每4个计1个
+     */
+    static long estimateTokens(String text) {
+        if (text == null) {
+            return 0;
+        }
+        long cjk = 0;
+        long other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.UnicodeScript.of(text.charAt(i)) == Character.UnicodeScript.HAN) {
+                cjk++;
+            } else {
+                other++;
+            }
+        }
+        return cjk + (other + 3) / 4;
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 按协议组装一次回答
+     */
+    private static class Reply {
+
+        private final boolean ark;
+
+        private final JSONObject request;
+
+        private final String content;
+
+        private final long promptTokens;
+
+        private final long completionTokens;
+
+        private final String id = "mock-" + UUID.randomUUID();
+
+        private final long created = System.currentTimeMillis() / 1000;
+
+        private Reply(boolean ark, JSONObject request, String content, long promptTokens, long completionTokens) {
+            this.ark = ark;
+            this.request = request;
+            this.content = content;
+            this.promptTokens = promptTokens;
+            this.completionTokens = completionTokens;
+        }
+
+        private String complete() {
+            if (ark) {
+                JSONObject message = new JSONObject();
+                message.put("role", "assistant");
+                message.put("content", content);
+                JSONObject choice = new JSONObject();
+                choice.put("index", 0);
+                choice.put("message", message);
+                choice.put("finish_reason", "stop");
+                JSONObject body = arkBase("chat.completion");
+                body.put("choices", JSONArray.of(choice));
+                body.put("usage", arkUsage());
+                return body.toJSONString();
+            }
+            return dashscopeBody(content, "stop").toJSONString();
+        }
+
+        /**
+         * 流式分片；百炼未开启增量输出时每个分片携带截至当前的完整内容
+         */
+        private String chunk(int seq, String delta, String sent, boolean last) {
+            if (ark) {
+                JSONObject deltaJson = new JSONObject();
+                deltaJson.put("role", "assistant");
+                deltaJson.put("content", delta);
+                JSONObject choice = new JSONObject();
+                choice.put("index", 0);
+                choice.put("delta", deltaJson);
+                choice.put("finish_reason", last ? "stop" : null);
+                JSONObject body = arkBase("chat.completion.chunk");
+                body.put("choices", JSONArray.of(choice));
+                return "data: " + body.toJSONString() + "\n\n";
+            }
+            JSONObject parameters = request.getJSONObject("parameters");
+            boolean incremental = parameters != null && parameters.getBooleanValue("incremental_output");
+            JSONObject body = dashscopeBody(incremental ? delta : sent, last ? "stop" : "null");
+            return "id:" + seq + "\nevent:result\n:HTTP_STATUS/200\ndata:" + body.toJSONString() + "\n\n";
+        }
+
+        private String usageChunk() {
+            JSONObject body = arkBase("chat.completion.chunk");
+            body.put("choices", new JSONArray());
+            body.put("usage", arkUsage());
+            return "data: " + body.toJSONString() + "\n\n";
+        }
+
+        private JSONObject arkBase(String object) {
+            JSONObject body = new JSONObject();
+            body.put("id", id);
+            body.put("object", object);
+            body.put("created", created);
+            body.put("model", request.getString("model"));
+            return body;
+        }
+
+        private JSONObject arkUsage() {
+            JSONObject usage = new JSONObject();
+            usage.put("prompt_tokens", promptTokens);
+            usage.put("completion_tokens", completionTokens);
+            usage.put("total_tokens", promptTokens + completionTokens);
+            return usage;
+        }
+
+        private JSONObject dashscopeBody(String text, String finishReason) {
+            JSONObject output = new JSONObject();
+            JSONObject parameters = request.getJSONObject("parameters");
+            if (parameters != null && "message".equals(parameters.getString("result_format"))) {
+                JSONObject message = new JSONObject();
+                message.put("role", "assistant");
+                message.put("content", text);
+                JSONObject choice = new JSONObject();
+                choice.put("finish_reason", finishReason);
+                choice.put("message", message);
+                output.put("choices", JSONArray.of(choice));
+            } else {
+                output.put("text", text);
+                output.put("finish_reason", finishReason);
+            }
+            JSONObject usage = new JSONObject();
+            usage.put("input_tokens", promptTokens);
+            usage.put("output_tokens", completionTokens);
+            usage.put("total_tokens", promptTokens + completionTokens);
+            JSONObject body = new JSONObject();
+            body.put("output", output);
+            body.put("usage", usage);
+            body.put("request_id", id);
+            return body;
+        }
+    }
+}
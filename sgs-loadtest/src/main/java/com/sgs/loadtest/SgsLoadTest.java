@@ -0,0 +1,184 @@
+package com.sgs.loadtest;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONWriter;
+import com.sgs.busi.cache.SgsParseCache;
+import com.sgs.busi.cache.SgsVerdictCache;
+import com.sgs.busi.config.LlmClientConfig;
+import com.sgs.busi.config.SgsPipelineConfig;
+import com.sgs.busi.config.SgsRuleConfig;
+import com.sgs.busi.constant.BusiConstants;
+import com.sgs.busi.domain.BusiSgsJob;
+import com.sgs.busi.llm.LlmMetrics;
+import com.sgs.busi.llm.LlmRouter;
+import com.sgs.busi.mapper.BusiSgsJobMapper;
+import com.sgs.busi.mapper.BusiSgsResultMapper;
+import com.sgs.busi.model.SgsFileInfo;
+import com.sgs.busi.pipeline.SgsCheckPipeline;
+import com.sgs.busi.pipeline.SgsResultWriter;
+import com.sgs.busi.routing.SgsModelRoutingPolicy;
+import com.sgs.busi.rule.SgsRuleEngine;
+import com.sgs.busi.utils.SgsFileParserUtils;
+import com.sgs.common.core.redis.RedisCache;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 审核流水线离线压测
+ * <p>
+ * 启动 {@link MockLlmServer}，装配真实的 {@link SgsCheckPipeline}（三级线程池、本地规则、模型路由、审核结论缓存、结果批量写入与大模型客户端），
+ * 任务表与结果表换成内存实现，不依赖数据库与Redis。样本以已解析状态投递，从规则校验阶段开始执行，
+ * 统计每个任务从投递到写入最终状态的耗时，输出吞吐量与耗时分位数。
+ * <p>
+ * 参数：总任务数 大模型阶段线程数 [样本目录]，样本目录下的 docx/pdf 会先解析为样本，未指定时使用内置样本。
+ * 样本循环使用，进程内结论缓存默认关闭（busi.verdictCache.maxSize=0），相同内容的并发任务仍会合并为一次调用。
+ * 模拟服务参数见 {@link MockLlmOptions#fromSystemProperties()}，业务参数可用 -Dbusi.xxx 覆盖。
+ * <p>
+ * 本模块只用于压测，不被 sgs-admin 依赖，不会打进应用包。
+ */
+public class SgsLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        int total = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int llmThreads = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        List<SgsFileInfo> samples = args.length > 2 ? loadSamples(args[2]) : builtinSamples();
+        MockLlmServer server = new MockLlmServer(MockLlmOptions.fromSystemProperties());
+        server.start(0);
+        LoadTestJobMapper jobMapper = new LoadTestJobMapper(total);
+        LoadTestResultMapper resultMapper = new LoadTestResultMapper();
+        LlmMetrics llmMetrics;
+        try {
+            // 关闭容器时结果写入器会写出剩余结果，结论来源在关闭后统计
+            try (AnnotationConfigApplicationContext context = newContext(server, jobMapper, resultMapper, llmThreads)) {
+                llmMetrics = context.getBean(LlmMetrics.class);
+                run(context.getBean(SgsCheckPipeline.class), jobMapper, samples, total, llmThreads);
+            }
+        } finally {
+            server.stop();
+        }
+        System.out.printf("结论来源：%s，失败：%d，模型分布：%s%n", resultMapper.getSources(), jobMapper.getFailures(),
+                resultMapper.getModels());
+        System.out.println("模拟服务：" + JSON.toJSONString(server.snapshot()));
+        System.out.println("调用指标：" + JSON.toJSONString(llmMetrics.snapshot(), JSONWriter.Feature.PrettyFormat));
+    }
+
+    /**
+     * 投递总任务数个任务并等待全部结束，样本循环使用；解析队列已满时与补偿调度一样稍后重新投递
+     */
+    public static void run(SgsCheckPipeline pipeline, LoadTestJobMapper jobMapper, List<SgsFileInfo> samples, int total,
+            int llmThreads) throws InterruptedException {
+        List<String> parseResults = new ArrayList<>(samples.size());
+        for (SgsFileInfo sample : samples) {
+            parseResults.add(JSON.toJSONString(sample));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            BusiSgsJob job = new BusiSgsJob();
+            job.setJobId((long) i);
+            job.setFilePath("loadtest-" + i);
+            job.setStatus(BusiConstants.JOB_PARSED);
+            job.setParseResult(parseResults.get(i % parseResults.size()));
+            jobMapper.start(i);
+            while (!pipeline.dispatch(job)) {
+                Thread.sleep(10);
+            }
+        }
+        boolean finished = jobMapper.await(1, TimeUnit.HOURS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long[] latencies = jobMapper.latencies();
+        Arrays.sort(latencies);
+        System.out.printf("任务：%d，大模型阶段线程：%d，耗时：%.1f s，吞吐：%.1f 个/s%s%n", total, llmThreads, seconds,
+                latencies.length / seconds, finished ? "" : "，超时未结束：" + (total - latencies.length));
+        if (latencies.length > 0) {
+            System.out.printf("耗时 P50：%d ms，P95：%d ms，P99：%d ms，最大：%d ms%n", percentile(latencies, 0.50),
+                    percentile(latencies, 0.95), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1_000_000);
+        }
+    }
+
+    /**
+     * 装配审核流水线，大模型接口指向模拟服务，任务表与结果表使用内存实现
+     */
+    public static AnnotationConfigApplicationContext newContext(MockLlmServer server, LoadTestJobMapper jobMapper,
+            LoadTestResultMapper resultMapper, int llmThreads) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("busi.llm.dashscopeBaseUrl", server.getDashscopeBaseUrl());
+        properties.put("busi.llm.dashscopeApiKey", "mock");
+        properties.put("busi.llm.volcengineBaseUrl", server.getArkBaseUrl());
+        properties.put("busi.llm.volcengineApiKey", "mock");
+        properties.put("busi.pipeline.llmThreads", llmThreads);
+        properties.put("busi.verdictCache.maxSize", 0);
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        // 系统属性优先，便于用 -Dbusi.xxx 调整线程数、限流、对冲等参数
+        context.getEnvironment().getPropertySources().addLast(new MapPropertySource("loadTest", properties));
+        context.registerBean(BusiSgsJobMapper.class, () -> jobMapper);
+        context.registerBean(BusiSgsResultMapper.class, () -> resultMapper);
+        context.registerBean("scheduledExecutorService", ScheduledExecutorService.class, Executors::newSingleThreadScheduledExecutor,
+                definition -> definition.setDestroyMethodName("shutdown"));
+        // 解析结果与审核结论的Redis二级缓存默认关闭，这里只满足注入，不建立连接
+        context.registerBean("redisTemplate", RedisTemplate.class, () -> new RedisTemplate<Object, Object>() {
+            @Override
+            public void afterPropertiesSet() {
+            }
+        });
+        context.register(RedisCache.class, LlmMetrics.class, LlmClientConfig.class, LlmRouter.class, SgsRuleConfig.class,
+                SgsRuleEngine.class, SgsModelRoutingPolicy.class, SgsPipelineConfig.class, SgsParseCache.class, SgsVerdictCache.class,
+                SgsResultWriter.class, SgsCheckPipeline.class);
+        context.refresh();
+        return context;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1_000_000;
+    }
+
+    private static List<SgsFileInfo> loadSamples(String dir) throws IOException {
+        File[] files = new File(dir).listFiles((d, name) -> name.endsWith(".docx") || name.endsWith(".pdf"));
+        if (files == null || files.length == 0) {
+            throw new IOException("样本目录下没有docx/pdf文件：" + dir);
+        }
+        List<SgsFileInfo> samples = new ArrayList<>(files.length);
+        for (File file : files) {
+            samples.add(SgsFileParserUtils.parseSgsFile(file.getPath()));
+        }
+        return samples;
+    }
+
+    /**
+     * 内置样本，覆盖规则直接判定、常规与语种混杂几种情况
+     */
+    private static List<SgsFileInfo> builtinSamples() {
+        List<SgsFileInfo> samples = new ArrayList<>();
+        samples.add(sample("武汉市柒核科技有限公司", "湖北省武汉市东湖高新区光谷大道77号", "水性网印油墨", "WY-200", "M-01", "无"));
+        samples.add(sample("深圳市华测电子有限公司", "广东省深圳市南山区科技园南区1栋", "ABC系列塑料外壳", "ABC系列", "P-1001", "出口欧盟"));
+        samples.add(sample("Shanghai Bright Materials Co., Ltd.", "上海市浦东新区张江路88号", "聚丙烯颗粒", "PP-30", "R-8", "客户批号2025-01"));
+        samples.add(sample("GreenLeaf Packaging Ltd.", "Unit 5, 12 Harbour Road, Wan Chai, Hong Kong", "Paper Cup", "PC-8", "", "Lot 18"));
+        samples.add(sample("", "浙江省杭州市余杭区文一西路969号", "白色纸张", "A4-80", "Z-2", "null"));
+        return samples;
+    }
+
+    private static SgsFileInfo sample(String customerName, String customerAddress, String sampleName, String modelNumber,
+            String materialNumber, String customerReference) {
+        SgsFileInfo sgsFileInfo = new SgsFileInfo();
+        sgsFileInfo.setCustomerName(customerName);
+        sgsFileInfo.setCustomerAddress(customerAddress);
+        sgsFileInfo.setSampleName(sampleName);
+        sgsFileInfo.setModelNumber(modelNumber);
+        sgsFileInfo.setMaterialNumber(materialNumber);
+        sgsFileInfo.setCustomerReference(customerReference);
+        sgsFileInfo.setSampleType("原材料");
+        return sgsFileInfo;
+    }
+}
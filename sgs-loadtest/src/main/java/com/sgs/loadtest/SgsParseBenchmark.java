@@ -0,0 +1,185 @@
+package com.sgs.loadtest;
+
+import com.sgs.busi.model.SgsParseOptions;
+import com.sgs.busi.utils.DocxStaxExtractor;
+import com.sgs.busi.utils.SgsFileParserUtils;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SGS文件解析性能测试
+ * <p>
+ * 以 {@link SgsSampleGenerator} 合成 1–200 页、表格型与段落型的Word和PDF报告，并可追加真实报告目录，
+ * 对每个样本分别测量整体解析 parseSgsFile、各格式的文本提取以及字段识别 parseContent 的吞吐量、P99耗时与单次内存分配量。
+ * 每项先预热再计时，内存分配取当前线程的分配字节数，需运行在HotSpot上。
+ * <p>
+ * 参数：[真实报告目录]；-Dbench.pages=1,10,50,200 指定合成页数，-Dbench.warmupMillis、-Dbench.measureMillis 指定预热与计时时长，
+ * -Dbench.corpusOut 指定目录时同时把合成样本写出，供压测或人工检查使用。
+ */
+public class SgsParseBenchmark {
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** 逐页提取PDF并只取前5页，与默认配置（pdfMaxPages为0，整份提取）的 parseSgsFile 对比 */
+    private static final SgsParseOptions PDF_FIRST_PAGES = new SgsParseOptions(5, false);
+
+    private static final SgsParseOptions DOCX_STREAMING = new SgsParseOptions(0, true);
+
+    /** 保留解析结果，避免被JIT当作无用代码消除 */
+    private static volatile Object blackhole;
+
+    public static void main(String[] args) throws Exception {
+        long warmupMillis = Long.getLong("bench.warmupMillis", 2000);
+        long measureMillis = Long.getLong("bench.measureMillis", 5000);
+        Map<String, byte[]> corpus = syntheticCorpus(System.getProperty("bench.pages", "1,10,50,200"));
+        if (args.length > 0) {
+            corpus.putAll(loadCorpus(args[0]));
+        }
+        String corpusOut = System.getProperty("bench.corpusOut");
+        if (corpusOut != null) {
+            writeCorpus(corpus, new File(corpusOut));
+        }
+        THREAD_MX_BEAN.setThreadAllocatedMemoryEnabled(true);
+        System.out.printf("%-28s %-18s %12s %12s %12s %14s%n", "样本", "测试项", "次/s", "平均ms", "P99 ms", "分配KB/次");
+        for (Map.Entry<String, byte[]> entry : corpus.entrySet()) {
+            String name = entry.getKey();
+            byte[] data = entry.getValue();
+            String extension = FilenameUtils.getExtension(name).toLowerCase();
+            for (Map.Entry<String, Task> task : tasks(data, extension).entrySet()) {
+                Result result = measure(task.getValue(), warmupMillis, measureMillis);
+                System.out.printf("%-28s %-18s %12.1f %12.3f %12.3f %14.1f%n", name, task.getKey(), result.opsPerSecond,
+                        result.meanMillis, result.p99Millis, result.allocatedKbPerOp);
+            }
+        }
+    }
+
+    /**
+     * 每种格式的测试项
+     */
+    private static Map<String, Task> tasks(byte[] data, String extension) throws IOException {
+        Map<String, Task> tasks = new LinkedHashMap<>();
+        if ("docx".equals(extension)) {
+            String content = SgsFileParserUtils.parseWordDocument(new ByteArrayInputStream(data));
+            tasks.put("parseSgsFile", () -> SgsFileParserUtils.parseSgsFile(data, extension));
+            tasks.put("parseSgsFile-stax", () -> SgsFileParserUtils.parseSgsFile(data, extension, DOCX_STREAMING));
+            tasks.put("extract-poi", () -> SgsFileParserUtils.parseWordDocument(new ByteArrayInputStream(data)));
+            tasks.put("extract-stax", () -> DocxStaxExtractor.extract(new ByteArrayInputStream(data)));
+            tasks.put("parseContent", () -> SgsFileParserUtils.parseContent(content));
+        } else {
+            String content;
+            try (PDDocument document = PDDocument.load(data)) {
+                content = SgsFileParserUtils.parsePdfDocument(document);
+            }
+            tasks.put("parseSgsFile", () -> SgsFileParserUtils.parseSgsFile(data, extension));
+            tasks.put("parseSgsFile-page", () -> SgsFileParserUtils.parseSgsFile(data, extension, PDF_FIRST_PAGES));
+            tasks.put("extract-full", () -> {
+                try (PDDocument document = PDDocument.load(data)) {
+                    return SgsFileParserUtils.parsePdfDocument(document);
+                }
+            });
+            tasks.put("parseContent", () -> SgsFileParserUtils.parseContent(content));
+        }
+        return tasks;
+    }
+
+    private static Result measure(Task task, long warmupMillis, long measureMillis) throws Exception {
+        long warmupEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(warmupMillis);
+        Object sink = null;
+        while (System.nanoTime() < warmupEnd) {
+            sink = task.run();
+        }
+        long threadId = Thread.currentThread().getId();
+        long[] samples = new long[1024];
+        int count = 0;
+        long allocatedBefore = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        long end = start + TimeUnit.MILLISECONDS.toNanos(measureMillis);
+        // 单次超过计时时长的大文件至少执行5次
+        while (System.nanoTime() < end || count < 5) {
+            long begin = System.nanoTime();
+            sink = task.run();
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = System.nanoTime() - begin;
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        blackhole = sink;
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        Result result = new Result();
+        result.opsPerSecond = count / (elapsed / 1e9);
+        result.meanMillis = elapsed / 1e6 / count;
+        result.p99Millis = sorted[Math.min(count - 1, (int) Math.ceil(count * 0.99) - 1)] / 1e6;
+        result.allocatedKbPerOp = allocated / 1024.0 / count;
+        return result;
+    }
+
+    private static Map<String, byte[]> syntheticCorpus(String pages) throws IOException {
+        Map<String, byte[]> corpus = new LinkedHashMap<>();
+        for (String value : pages.split(",")) {
+            int page = Integer.parseInt(value.trim());
+            for (SgsSampleGenerator.Layout layout : SgsSampleGenerator.Layout.values()) {
+                String name = "synthetic-" + layout.name().toLowerCase() + "-" + page + "p";
+                corpus.put(name + ".docx", SgsSampleGenerator.docx(page, layout));
+                corpus.put(name + ".pdf", SgsSampleGenerator.pdf(page, layout));
+            }
+        }
+        return corpus;
+    }
+
+    private static Map<String, byte[]> loadCorpus(String dir) throws IOException {
+        File[] files = new File(dir).listFiles((d, name) -> name.endsWith(".docx") || name.endsWith(".pdf"));
+        if (files == null) {
+            throw new IOException("目录不存在：" + dir);
+        }
+        Map<String, byte[]> corpus = new LinkedHashMap<>();
+        for (File file : files) {
+            corpus.put(file.getName(), Files.readAllBytes(file.toPath()));
+        }
+        return corpus;
+    }
+
+    private static void writeCorpus(Map<String, byte[]> corpus, File dir) throws IOException {
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("无法创建目录：" + dir);
+        }
+        List<String> names = new ArrayList<>();
+        for (Map.Entry<String, byte[]> entry : corpus.entrySet()) {
+            Files.write(new File(dir, entry.getKey()).toPath(), entry.getValue());
+            names.add(entry.getKey() + "\t" + entry.getValue().length);
+        }
+        Files.write(new File(dir, "corpus.txt").toPath(), names, StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        Object run() throws Exception;
+    }
+
+    private static class Result {
+
+        private double opsPerSecond;
+
+        private double meanMillis;
+
+        private double p99Millis;
+
+        private double allocatedKbPerOp;
+    }
+}
@@ -0,0 +1,206 @@
+package com.sgs.loadtest;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.poi.xwpf.usermodel.BreakType;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.apache.poi.xwpf.usermodel.XWPFTableRow;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * 合成SGS风格的Word与PDF报告，用于解析性能测试
+ * <p>
+ * 第一页为客户与样品信息，之后每页为测试数据；表格型报告以表格承载字段与测试数据，段落型报告全部为 "标签：值" 段落与正文。
+ * 同样的页数与版式总是生成同样的内容，便于前后对比。
+ * <p>
+ * PDF需要中文字体才能写入标签，通过 -Dbench.cjkFont 指定TTF字体路径，未指定时尝试常见系统字体；
+ * 均不可用时以英文标签生成，此时只能衡量文本提取，字段无法识别。
+ */
+public class SgsSampleGenerator {
+
+    /** 版式 */
+    public enum Layout {
+        /** 表格为主 */
+        TABLE,
+        /** 段落为主 */
+        PARAGRAPH
+    }
+
+    /** 每页测试数据行数 */
+    private static final int ROWS_PER_PAGE = 30;
+
+    /** 常见的中文TTF字体，PDFBox不能直接加载TTC字体集 */
+    private static final String[] FONT_CANDIDATES = {
+            "C:/Windows/Fonts/simhei.ttf",
+            "/Library/Fonts/Arial Unicode.ttf",
+            "/System/Library/Fonts/Supplemental/Arial Unicode.ttf",
+            "/usr/share/fonts/truetype/droid/DroidSansFallbackFull.ttf"
+    };
+
+    private static final String[][] FIELDS = {
+            { "客户名称", "Customer", "武汉市柒核科技有限公司" },
+            { "客户地址", "Address", "湖北省武汉市东湖高新区光谷大道77号" },
+            { "样品名称", "Sample", "水性网印油墨" },
+            { "型号", "Model", "WY-200" },
+            { "料号", "Material", "M-2025-001" },
+            { "客户参考信息", "Reference", "批号20250301" },
+            { "样品类型", "Type", "原材料" }
+    };
+
+    private static final String[] TEST_ITEMS = { "铅 Pb", "镉 Cd", "汞 Hg", "六价铬 Cr(VI)", "多溴联苯 PBBs", "多溴二苯醚 PBDEs",
+            "邻苯二甲酸二丁酯 DBP", "邻苯二甲酸丁苄酯 BBP" };
+
+    /**
+     * 生成Word报告
+     *
+     * @param pages  页数
+     * @param layout 版式
+     * @return docx文件内容
+     */
+    public static byte[] docx(int pages, Layout layout) throws IOException {
+        Random random = new Random(pages * 31L + layout.ordinal());
+        try (XWPFDocument document = new XWPFDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            document.createParagraph().createRun().setText("测试报告 TEST REPORT");
+            if (layout == Layout.TABLE) {
+                XWPFTable table = document.createTable(FIELDS.length, 2);
+                for (int i = 0; i < FIELDS.length; i++) {
+                    table.getRow(i).getCell(0).setText(FIELDS[i][0] + "：");
+                    table.getRow(i).getCell(1).setText(FIELDS[i][2]);
+                }
+            } else {
+                for (String[] field : FIELDS) {
+                    document.createParagraph().createRun().setText(field[0] + "：" + field[2]);
+                }
+            }
+            for (int page = 2; page <= pages; page++) {
+                document.createParagraph().createRun().addBreak(BreakType.PAGE);
+                document.createParagraph().createRun().setText("测试结果（第" + page + "页）");
+                if (layout == Layout.TABLE) {
+                    XWPFTable table = document.createTable(ROWS_PER_PAGE + 1, 4);
+                    setRow(table.getRow(0), "测试项目", "方法", "限值", "结果");
+                    for (int row = 1; row <= ROWS_PER_PAGE; row++) {
+                        String[] cells = testRow(random);
+                        setRow(table.getRow(row), cells[0], cells[1], cells[2], cells[3]);
+                    }
+                } else {
+                    for (int row = 0; row < ROWS_PER_PAGE; row++) {
+                        document.createParagraph().createRun().setText(String.join("，", testRow(random))
+                                + "。样品按照 IEC 62321 系列标准进行前处理与仪器分析，结果以毫克每千克计。");
+                    }
+                }
+            }
+            document.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * 生成PDF报告
+     *
+     * @param pages  页数
+     * @param layout 版式
+     * @return pdf文件内容
+     */
+    public static byte[] pdf(int pages, Layout layout) throws IOException {
+        Random random = new Random(pages * 31L + layout.ordinal());
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            File fontFile = cjkFont();
+            PDFont font = fontFile == null ? PDType1Font.HELVETICA : PDType0Font.load(document, fontFile);
+            boolean cjk = fontFile != null;
+            for (int page = 1; page <= pages; page++) {
+                PDPage pdPage = new PDPage(PDRectangle.A4);
+                document.addPage(pdPage);
+                try (PDPageContentStream stream = new PDPageContentStream(document, pdPage)) {
+                    float y = pdPage.getMediaBox().getHeight() - 60;
+                    if (page == 1) {
+                        y = line(stream, font, 50, y, cjk ? "测试报告 TEST REPORT" : "TEST REPORT");
+                        for (String[] field : FIELDS) {
+                            String label = (cjk ? field[0] : field[1]) + (cjk ? "：" : ":");
+                            String value = cjk ? field[2] : "Value " + field[1];
+                            if (layout == Layout.TABLE) {
+                                cell(stream, font, 50, y, 150, label);
+                                cell(stream, font, 200, y, 340, value);
+                                y -= 18;
+                            } else {
+                                y = line(stream, font, 50, y, label + value);
+                            }
+                        }
+                        continue;
+                    }
+                    y = line(stream, font, 50, y, (cjk ? "测试结果 第" : "Test results page ") + page);
+                    for (int row = 0; row < ROWS_PER_PAGE && y > 50; row++) {
+                        String[] cells = testRow(random);
+                        if (!cjk) {
+                            cells[0] = "Item " + row;
+                        }
+                        if (layout == Layout.TABLE) {
+                            float[] x = { 50, 210, 330, 420 };
+                            float[] width = { 160, 120, 90, 120 };
+                            for (int c = 0; c < cells.length; c++) {
+                                cell(stream, font, x[c], y, width[c], cells[c]);
+                            }
+                            y -= 18;
+                        } else {
+                            y = line(stream, font, 50, y, String.join(cjk ? "，" : ", ", cells)
+                                    + (cjk ? "。按IEC 62321进行分析。" : ". Analysed per IEC 62321."));
+                        }
+                    }
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static void setRow(XWPFTableRow row, String... cells) {
+        for (int i = 0; i < cells.length; i++) {
+            row.getCell(i).setText(cells[i]);
+        }
+    }
+
+    private static String[] testRow(Random random) {
+        String item = TEST_ITEMS[random.nextInt(TEST_ITEMS.length)];
+        int limit = (random.nextInt(10) + 1) * 100;
+        String result = random.nextInt(5) == 0 ? String.valueOf(random.nextInt(limit)) : "N.D.";
+        return new String[] { item, "IEC 62321-" + (random.nextInt(8) + 3), String.valueOf(limit), result };
+    }
+
+    private static float line(PDPageContentStream stream, PDFont font, float x, float y, String text) throws IOException {
+        stream.beginText();
+        stream.setFont(font, 10);
+        stream.newLineAtOffset(x, y);
+        stream.showText(text);
+        stream.endText();
+        return y - 16;
+    }
+
+    private static void cell(PDPageContentStream stream, PDFont font, float x, float y, float width, String text) throws IOException {
+        stream.addRect(x - 4, y - 5, width, 18);
+        stream.stroke();
+        line(stream, font, x, y, text);
+    }
+
+    private static File cjkFont() {
+        String configured = System.getProperty("bench.cjkFont");
+        if (configured != null) {
+            return new File(configured);
+        }
+        for (String candidate : FONT_CANDIDATES) {
+            File file = new File(candidate);
+            if (file.isFile()) {
+                return file;
+            }
+        }
+        return null;
+    }
+}
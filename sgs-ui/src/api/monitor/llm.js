@@ -0,0 +1,9 @@
+import request from '@/utils/request'
+
+// 获取大模型调用指标
+export function getLlm() {
+  return request({
+    url: '/monitor/llm',
+    method: 'get'
+  })
+}
@@ -0,0 +1,57 @@
+-- ----------------------------
+-- 1、SGS报告批量审核任务表
+-- ----------------------------
+drop table if exists busi_sgs_job;
+create table busi_sgs_job (
+  job_id            bigint(20)      not null auto_increment    comment '任务ID',
+  batch_id          varchar(64)     not null                   comment '批次ID',
+  file_path         varchar(500)    not null                   comment '文件路径',
+  status            varchar(16)     default 'PENDING'          comment '任务状态（PENDING待解析 PARSED已解析 RULED已校验 CHECKED已审核 FAILED失败）',
+  parse_result      text                                       comment '解析结果（json）',
+  rule_result       varchar(1000)   default null               comment '规则校验结果',
+  verdict           text                                       comment '大模型审核结论',
+  error_msg         varchar(2000)   default null               comment '失败原因',
+  create_by         varchar(64)     default ''                 comment '创建者',
+  create_time       datetime                                   comment '创建时间',
+  update_time       datetime                                   comment '更新时间',
+  primary key (job_id),
+  key idx_batch_id (batch_id),
+  key idx_status (status)
+) engine=innodb auto_increment=1 comment = 'SGS报告批量审核任务表';
+
+
+-- ----------------------------
+-- 2、大模型调用监控菜单
+-- ----------------------------
+insert into sys_menu values('118',  '大模型监控', '2',   '7', 'llm',        'monitor/llm/index',        '', '', 1, 0, 'C', '0', '0', 'monitor:llm:list',        'monitor',       'admin', sysdate(), '', null, '大模型调用监控菜单');
+
+
+-- ----------------------------
+-- 3、SGS报告审核结果表
+-- ----------------------------
+drop table if exists busi_sgs_result;
+create table busi_sgs_result (
+  result_id           bigint(20)      not null auto_increment    comment '结果ID',
+  file_hash           varchar(64)     default null               comment '文件内容SHA-256',
+  file_path           varchar(500)    default null               comment '文件路径',
+  customer_name       varchar(255)    default null               comment '客户名称',
+  customer_address    varchar(500)    default null               comment '客户地址',
+  sample_name         varchar(255)    default null               comment '样品名称',
+  model_number        varchar(255)    default null               comment '型号',
+  material_number     varchar(255)    default null               comment '料号',
+  customer_reference  varchar(500)    default null               comment '客户参考信息',
+  sample_type         varchar(255)    default null               comment '样品类型',
+  source              varchar(16)     default null               comment '结论来源（RULE本地规则 LLM大模型 CACHE缓存）',
+  model               varchar(64)     default null               comment '模型名称',
+  verdict             text                                       comment '审核结论',
+  violations          varchar(2000)   default null               comment '本地规则违规项，每行一条',
+  latency_ms          bigint(20)      default 0                  comment '审核耗时（毫秒）',
+  input_tokens        bigint(20)      default 0                  comment '输入token数',
+  output_tokens       bigint(20)      default 0                  comment '输出token数',
+  create_time         datetime                                   comment '创建时间',
+  primary key (result_id),
+  key idx_customer_name (customer_name),
+  key idx_sample_name (sample_name),
+  key idx_create_time (create_time),
+  key idx_file_hash (file_hash)
+) engine=innodb auto_increment=1 comment = 'SGS报告审核结果表';